@@ -0,0 +1,119 @@
+import javafx.animation.AnimationTimer;
+import java.util.function.IntPredicate;
+
+/**
+ * Replays a solution at a configurable number of moves per second.
+ *
+ * Playback is driven by an {@link AnimationTimer}: every pulse works out how
+ * many moves are due since the previous one and applies them as a single
+ * batch, then reports the batch once so labels and win checks run per frame
+ * rather than per move. That keeps hundreds of moves per second affordable.
+ */
+public final class AutoSolvePlayer {
+    private final IntPredicate applyMove;
+    private final Runnable onBatch;
+    private final Runnable onFinished;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulse(now);
+        }
+    };
+
+    private int[] moves = new int[0];
+    private int cursor;
+    private double movesPerSecond = 20;
+    private double due;
+    private long lastPulse = -1;
+    private boolean playing;
+
+    /**
+     * @param applyMove slides the tile at the given cell; returns false if the move is no longer legal
+     * @param onBatch   called once after each batch of applied moves
+     * @param onFinished called when the last move has been played or playback hit an illegal move
+     */
+    public AutoSolvePlayer(IntPredicate applyMove, Runnable onBatch, Runnable onFinished) {
+        this.applyMove = applyMove;
+        this.onBatch = onBatch;
+        this.onFinished = onFinished;
+    }
+
+    public void load(int[] moves) {
+        pause();
+        this.moves = moves;
+        this.cursor = 0;
+    }
+
+    public void clear() {
+        load(new int[0]);
+    }
+
+    public boolean hasMoves() {
+        return cursor < moves.length;
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    public void play() {
+        if (playing || !hasMoves())
+            return;
+        playing = true;
+        lastPulse = -1;
+        due = 0;
+        timer.start();
+    }
+
+    public void pause() {
+        playing = false;
+        timer.stop();
+    }
+
+    /** Plays exactly one move, pausing playback first. */
+    public void step() {
+        pause();
+        if (hasMoves()) {
+            apply(1);
+            onBatch.run();
+            if (!hasMoves())
+                onFinished.run();
+        }
+    }
+
+    public void setSpeed(double movesPerSecond) {
+        this.movesPerSecond = Math.max(0.1, movesPerSecond);
+    }
+
+    private void pulse(long now) {
+        if (lastPulse < 0) {
+            lastPulse = now;
+            return;
+        }
+        // Never bank more than a quarter second of moves, so a stalled frame does not turn into a jump.
+        due = Math.min(due + (now - lastPulse) / 1e9 * movesPerSecond, Math.max(1, movesPerSecond / 4));
+        lastPulse = now;
+
+        int batch = (int) due;
+        if (batch == 0)
+            return;
+        due -= batch;
+        apply(batch);
+        onBatch.run();
+        if (!hasMoves()) {
+            pause();
+            onFinished.run();
+        }
+    }
+
+    private void apply(int batch) {
+        int end = Math.min(moves.length, cursor + batch);
+        while (cursor < end) {
+            if (!applyMove.test(moves[cursor])) {
+                cursor = moves.length;
+                return;
+            }
+            cursor++;
+        }
+    }
+}
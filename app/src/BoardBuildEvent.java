@@ -0,0 +1,36 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One stage of building a board on the FX thread. The stage left there is
+ * "scene" (showing the tiles in the renderer): the tiles are viewports into
+ * the decoded image, so there is no texture to build, and decoding happens
+ * in the background as an {@link ImageLoadEvent}.
+ */
+@Name("puzzle.BoardBuild")
+@Label("Board Build")
+@Category({ "Image Slide Puzzle", "Image Pipeline" })
+@Description("One stage of building a board on the FX thread")
+final class BoardBuildEvent extends Event {
+    @Label("Stage")
+    String stage;
+    @Label("Rows")
+    int rows;
+    @Label("Columns")
+    int cols;
+    @Label("Tile Count")
+    int tileCount;
+    @Label("Tile Size")
+    int tileSize;
+
+    BoardBuildEvent(String stage, int rows, int cols, int tileSize) {
+        this.stage = stage;
+        this.rows = rows;
+        this.cols = cols;
+        this.tileCount = rows * cols - 1;
+        this.tileSize = tileSize;
+    }
+}
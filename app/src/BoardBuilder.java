@@ -0,0 +1,29 @@
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+
+/**
+ * The FX-thread half of building a board: sizing the tiles to the window and
+ * dealing a solved board into a renderer. The controller builds every board
+ * through it and BoardBuildBenchmark times the same calls; the background
+ * half is {@link ImageLoadPipeline#loadNow}.
+ */
+final class BoardBuilder {
+    private BoardBuilder() {
+    }
+
+    /** Largest tile size that fits the board beside the toolbar and the preview column. */
+    static double fitTileSize(double sceneWidth, double sceneHeight, int rows, int cols) {
+        return Math.min((sceneWidth - 300) / cols, (sceneHeight - 150) / rows);
+    }
+
+    /** Deals a solved board into {@code renderer}; recorded as the "scene" {@link BoardBuildEvent}. */
+    static PuzzleGame show(BoardRenderer renderer, int rows, int cols, Image texture, Rectangle2D[] viewports,
+            int tileSize) {
+        PuzzleGame game = new PuzzleGame(new Board(rows, cols));
+        BoardBuildEvent event = new BoardBuildEvent("scene", rows, cols, tileSize);
+        event.begin();
+        renderer.show(game.board(), texture, viewports, tileSize);
+        event.commit();
+        return game;
+    }
+}
@@ -0,0 +1,100 @@
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import java.util.List;
+
+/**
+ * Board surface that positions tiles directly from board coordinates.
+ *
+ * Tiles are unmanaged children of an inner pane and are placed with
+ * {@link Node#relocate}, so moving a tile never triggers a layout pass and its
+ * cost does not grow with the grid. The only layout this region does is to
+ * seat that pane inside its padding when the grid or the insets change.
+ * Layout position always holds a tile's final cell; translate is left free so
+ * a slide can be shown by easing the translate offset back to zero.
+ */
+public final class BoardLayer extends Region {
+    private final Pane surface = new Pane();
+    private int rows, cols;
+    private double tileSize;
+    private double gap = 1;
+
+    public BoardLayer() {
+        getChildren().add(surface);
+    }
+
+    public void setGrid(int rows, int cols, double tileSize) {
+        if (rows == this.rows && cols == this.cols && tileSize == this.tileSize)
+            return;
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+        requestLayout();
+    }
+
+    public double getTileSize() {
+        return tileSize;
+    }
+
+    public double getGap() {
+        return gap;
+    }
+
+    public void setGap(double gap) {
+        this.gap = gap;
+        requestLayout();
+    }
+
+    /** Replaces every tile in one list change. */
+    public void setTiles(List<? extends Node> tiles) {
+        for (Node tile : tiles)
+            tile.setManaged(false);
+        surface.getChildren().setAll(tiles);
+    }
+
+    public double cellX(int col) {
+        return col * (tileSize + gap);
+    }
+
+    public double cellY(int row) {
+        return row * (tileSize + gap);
+    }
+
+    /** Puts {@code tile} at the given cell immediately. */
+    public void place(Node tile, int row, int col) {
+        tile.relocate(cellX(col), cellY(row));
+    }
+
+    private double boardWidth() {
+        return cols * tileSize + Math.max(0, cols - 1) * gap;
+    }
+
+    private double boardHeight() {
+        return rows * tileSize + Math.max(0, rows - 1) * gap;
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return snappedLeftInset() + boardWidth() + snappedRightInset();
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return snappedTopInset() + boardHeight() + snappedBottomInset();
+    }
+
+    @Override
+    protected double computeMinWidth(double height) {
+        return computePrefWidth(height);
+    }
+
+    @Override
+    protected double computeMinHeight(double width) {
+        return computePrefHeight(width);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        surface.resizeRelocate(snappedLeftInset(), snappedTopInset(), boardWidth(), boardHeight());
+    }
+}
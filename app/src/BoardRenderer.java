@@ -0,0 +1,36 @@
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import java.util.function.IntConsumer;
+
+/**
+ * Draws a {@link Board} cut from a single texture. The controller owns the
+ * game and tells the renderer what changed; the renderer only reads the board.
+ *
+ * Tiles are cut from the texture by {@code viewports}, indexed by tile id.
+ */
+public interface BoardRenderer {
+    /** The node to put in the scene; it sizes itself to the grid. */
+    Node node();
+
+    /** Shows {@code board} from scratch. */
+    void show(Board board, Image texture, Rectangle2D[] viewports, double tileSize);
+
+    /** Swaps in a new texture under the same tiles, e.g. once a resize has been decoded again. */
+    void setTexture(Image texture, Rectangle2D[] viewports);
+
+    /** Changes the on-screen tile size without touching the board. */
+    void setTileSize(double tileSize);
+
+    /** {@code tile} has just slid from cell {@code from} into cell {@code to}. */
+    void tileMoved(int tile, int from, int to);
+
+    /** Redraws every tile after a bulk change, e.g. a shuffle that may have replaced the board. */
+    void refresh(Board board);
+
+    /** Highlights {@code tile}, or nothing when it is negative. */
+    void setHint(int tile);
+
+    /** Receives the cell of every tile the player clicks. */
+    void setOnCellClicked(IntConsumer handler);
+}
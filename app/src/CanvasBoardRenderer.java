@@ -0,0 +1,147 @@
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import java.util.function.IntConsumer;
+
+/**
+ * Renderer that draws the whole board on one {@link Canvas}, copying each
+ * tile out of the texture with a {@code drawImage} source rectangle.
+ *
+ * The scene graph stays at two nodes however large the grid is, which is what
+ * a 64x64 board needs. A move redraws only the two cells it touched; a full
+ * redraw happens only when the board, texture or tile size changes.
+ */
+public final class CanvasBoardRenderer implements BoardRenderer {
+    private static final Color HINT_COLOR = Color.web("#ffb900");
+    private static final double HINT_WIDTH = 3;
+
+    private final Canvas canvas = new Canvas();
+    private final StackPane holder = new StackPane(canvas);
+    private Board board;
+    private Image texture;
+    private Rectangle2D[] viewports;
+    private double tileSize;
+    private double gap = 1;
+    private int hintTile = -1;
+    private IntConsumer onCellClicked = cell -> {
+    };
+
+    public CanvasBoardRenderer() {
+        holder.getStyleClass().add("grid-pane");
+        canvas.setOnMouseClicked(e -> {
+            int cell = cellAt(e.getX(), e.getY());
+            if (cell >= 0)
+                onCellClicked.accept(cell);
+        });
+    }
+
+    @Override
+    public Node node() {
+        return holder;
+    }
+
+    public double getGap() {
+        return gap;
+    }
+
+    public void setGap(double gap) {
+        this.gap = gap;
+        if (board != null)
+            redraw();
+    }
+
+    @Override
+    public void show(Board board, Image texture, Rectangle2D[] viewports, double tileSize) {
+        this.board = board;
+        this.texture = texture;
+        this.viewports = viewports;
+        this.tileSize = tileSize;
+        hintTile = -1;
+        redraw();
+    }
+
+    @Override
+    public void setTexture(Image texture, Rectangle2D[] viewports) {
+        this.texture = texture;
+        this.viewports = viewports;
+        redraw();
+    }
+
+    @Override
+    public void setTileSize(double tileSize) {
+        this.tileSize = tileSize;
+        redraw();
+    }
+
+    @Override
+    public void tileMoved(int tile, int from, int to) {
+        drawCell(from);
+        drawCell(to);
+    }
+
+    @Override
+    public void refresh(Board board) {
+        this.board = board;
+        redraw();
+    }
+
+    @Override
+    public void setHint(int tile) {
+        int previous = hintTile;
+        hintTile = tile;
+        if (board == null)
+            return;
+        if (previous >= 0)
+            drawCell(board.positionOf(previous));
+        if (tile >= 0)
+            drawCell(board.positionOf(tile));
+    }
+
+    @Override
+    public void setOnCellClicked(IntConsumer handler) {
+        onCellClicked = handler;
+    }
+
+    /** The cell under a point in canvas coordinates, or -1 for a gap or when no board is shown. */
+    public int cellAt(double x, double y) {
+        if (board == null)
+            return -1;
+        double pitch = tileSize + gap;
+        int col = (int) (x / pitch);
+        int row = (int) (y / pitch);
+        if (x < 0 || y < 0 || col >= board.cols() || row >= board.rows()
+                || x - col * pitch > tileSize || y - row * pitch > tileSize)
+            return -1;
+        return board.index(row, col);
+    }
+
+    private void redraw() {
+        canvas.setWidth(board.cols() * tileSize + (board.cols() - 1) * gap);
+        canvas.setHeight(board.rows() * tileSize + (board.rows() - 1) * gap);
+        canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int i = 0; i < board.size(); i++)
+            drawCell(i);
+    }
+
+    private void drawCell(int index) {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        double x = board.colOf(index) * (tileSize + gap);
+        double y = board.rowOf(index) * (tileSize + gap);
+        g.clearRect(x, y, tileSize, tileSize);
+        int tile = board.tileAt(index);
+        if (tile == board.blankTile())
+            return;
+        Rectangle2D src = viewports[tile];
+        g.drawImage(texture, src.getMinX(), src.getMinY(), src.getWidth(), src.getHeight(),
+                x, y, tileSize, tileSize);
+        if (tile == hintTile) {
+            g.setStroke(HINT_COLOR);
+            g.setLineWidth(HINT_WIDTH);
+            g.strokeRect(x + HINT_WIDTH / 2, y + HINT_WIDTH / 2, tileSize - HINT_WIDTH, tileSize - HINT_WIDTH);
+        }
+    }
+}
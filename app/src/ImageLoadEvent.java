@@ -0,0 +1,35 @@
+import javafx.scene.image.Image;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("puzzle.ImageLoad")
+@Label("Image Load")
+@Category({ "Image Slide Puzzle", "Image Pipeline" })
+@Description("Background decode of the board image, and the preview scaled from it, for one load")
+final class ImageLoadEvent extends Event {
+    @Label("URL")
+    String url;
+    @Label("Rows")
+    int rows;
+    @Label("Columns")
+    int cols;
+    @Label("Tile Count")
+    int tileCount;
+    @Label("Tile Size")
+    int tileSize;
+    @Label("Bytes Decoded")
+    @Description("Size of the decoded pixels, at four bytes per pixel")
+    @DataAmount
+    long bytesDecoded;
+    @Label("Cancelled")
+    boolean cancelled;
+
+    /** Bytes of decoded pixels held by {@code image}, or 0 for none. */
+    static long bytes(Image image) {
+        return image == null ? 0 : 4L * (long) image.getWidth() * (long) image.getHeight();
+    }
+}
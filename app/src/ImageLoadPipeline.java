@@ -0,0 +1,169 @@
+import javafx.concurrent.Task;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Decodes and tiles images on a background thread.
+ *
+ * Each load is a {@link Task}, so its progress can be bound to the UI and its
+ * result is delivered on the FX thread in a single step. Starting a load
+ * cancels the previous one; a load that was superseded never publishes, even
+ * if its decode had already finished.
+ */
+public final class ImageLoadPipeline {
+    /**
+     * A decoded board image and the viewport of every tile on it, plus the
+     * preview when one was asked for.
+     */
+    public record LoadedImage(String url, Image preview, Image scaled, int rows, int cols, int tileSize,
+            Rectangle2D[] viewports) {
+    }
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private Task<LoadedImage> current;
+
+    /**
+     * Starts loading {@code url} for a {@code cols}x{@code rows} board of
+     * {@code tileSize} pixel tiles. A preview is made as well when
+     * {@code previewWidth} is positive.
+     */
+    public Task<LoadedImage> load(String url, double previewWidth, int rows, int cols, int tileSize,
+            Consumer<LoadedImage> onLoaded, Consumer<Throwable> onFailed) {
+        cancel();
+        Task<LoadedImage> task = new Task<>() {
+            @Override
+            protected LoadedImage call() throws Exception {
+                ImageLoadEvent event = new ImageLoadEvent();
+                event.begin();
+                try {
+                    updateProgress(0, 3);
+                    return loadNow(url, previewWidth, rows, cols, tileSize, event, stage -> {
+                        updateProgress(stage, 3);
+                        return !isCancelled();
+                    });
+                } finally {
+                    if (event.shouldCommit()) {
+                        event.url = url;
+                        event.rows = rows;
+                        event.cols = cols;
+                        event.tileCount = rows * cols - 1;
+                        event.tileSize = tileSize;
+                        event.cancelled = isCancelled();
+                        event.commit();
+                    }
+                }
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (task == current) {
+                current = null;
+                onLoaded.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(e -> {
+            if (task == current) {
+                current = null;
+                onFailed.accept(task.getException());
+            }
+        });
+        current = task;
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * The stages of a load, run on the calling thread. Every background load
+     * runs this, and so does BoardBuildBenchmark. {@code stageDone} is told
+     * as each stage ends, 1 for the board image, 2 for the preview and 3 for
+     * the tile viewports, and returns false to stop the load early, which
+     * then returns null. The file is decoded once, at board size; the preview
+     * is scaled down from the board image, so it shows the picture as the
+     * board does.
+     */
+    static LoadedImage loadNow(String url, double previewWidth, int rows, int cols, int tileSize,
+            ImageLoadEvent event, IntPredicate stageDone) throws Exception {
+        Image scaled = decode(url, cols * tileSize, rows * tileSize, false);
+        event.bytesDecoded += ImageLoadEvent.bytes(scaled);
+        if (!stageDone.test(1))
+            return null;
+        Image preview = previewWidth > 0 ? shrink(scaled, (int) previewWidth) : null;
+        if (!stageDone.test(2))
+            return null;
+        Rectangle2D[] viewports = tileViewports(rows, cols, tileSize);
+        if (!stageDone.test(3))
+            return null;
+        return new LoadedImage(url, preview, scaled, rows, cols, tileSize, viewports);
+    }
+
+    /** Whether a load is still running, i.e. its callbacks have not fired yet. */
+    public boolean isLoading() {
+        return current != null;
+    }
+
+    public void cancel() {
+        if (current != null) {
+            current.cancel(true);
+            current = null;
+        }
+    }
+
+    /** Viewport of every tile, indexed by tile id, on an image of {@code cols}x{@code rows} tiles. */
+    public static Rectangle2D[] tileViewports(int rows, int cols, int tileSize) {
+        Rectangle2D[] viewports = new Rectangle2D[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++)
+                viewports[r * cols + c] = new Rectangle2D(c * tileSize, r * tileSize, tileSize, tileSize);
+        }
+        return viewports;
+    }
+
+    /**
+     * Scales {@code image} down to {@code width}, keeping its aspect ratio,
+     * by averaging the block of source pixels under each target pixel.
+     * Images no wider than {@code width} are returned as they are.
+     */
+    static Image shrink(Image image, int width) {
+        int sw = (int) image.getWidth(), sh = (int) image.getHeight();
+        if (sw <= width)
+            return image;
+        int height = Math.max(1, (int) Math.round((double) sh * width / sw));
+        int[] src = new int[sw * sh];
+        image.getPixelReader().getPixels(0, 0, sw, sh, PixelFormat.getIntArgbPreInstance(), src, 0, sw);
+        int[] dst = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            int y0 = y * sh / height, y1 = Math.max(y0 + 1, (y + 1) * sh / height);
+            for (int x = 0; x < width; x++) {
+                int x0 = x * sw / width, x1 = Math.max(x0 + 1, (x + 1) * sw / width);
+                long a = 0, r = 0, g = 0, b = 0;
+                for (int sy = y0; sy < y1; sy++) {
+                    for (int sx = x0; sx < x1; sx++) {
+                        int p = src[sy * sw + sx];
+                        a += p >>> 24;
+                        r += p >> 16 & 0xff;
+                        g += p >> 8 & 0xff;
+                        b += p & 0xff;
+                    }
+                }
+                int n = (y1 - y0) * (x1 - x0);
+                dst[y * width + x] = (int) (a / n) << 24 | (int) (r / n) << 16 | (int) (g / n) << 8 | (int) (b / n);
+            }
+        }
+        WritableImage shrunk = new WritableImage(width, height);
+        shrunk.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(), dst, 0, width);
+        return shrunk;
+    }
+
+    /** Decodes {@code url} straight at the requested size; the image loader scales while decoding. */
+    public static Image decode(String url, double width, double height, boolean preserveRatio) throws Exception {
+        Image image = new Image(url, width, height, preserveRatio, true);
+        if (image.isError())
+            throw image.getException();
+        return image;
+    }
+}
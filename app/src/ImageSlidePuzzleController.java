@@ -0,0 +1,539 @@
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.concurrent.Task;
+import javafx.animation.Timeline;
+import javafx.fxml.FXML;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.layout.BorderPane;
+import java.net.URL;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.image.*;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.SwipeEvent;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ImageSlidePuzzleController {
+    /** Images kept for Prev / Next; loading one more drops the oldest. */
+    private static final int GALLERY_SIZE = 16;
+
+    // FXML elements
+    @FXML
+    private ScrollPane boardScroll;
+    @FXML
+    private ImageView originalPreview;
+    @FXML
+    private ComboBox<Integer> levelBox;
+    @FXML
+    private Label movesLabel, timeLabel, noteLabel;
+    @FXML
+    private Button loadBtn, shuffleBtn, resetBtn, hintBtn, stepBtn, prevBtn, nextBtn;
+    @FXML
+    private ToggleButton themeToggle, solveBtn, canvasToggle;
+    @FXML
+    private Slider speedSlider;
+
+    // Game state
+    private String sourceUrl;
+    private final List<GalleryImage> gallery = new ArrayList<>();
+    private GalleryImage current;
+    private final ImageLoadPipeline imageLoader = new ImageLoadPipeline();
+    private final ImageLoadPipeline textureLoader = new ImageLoadPipeline();
+    private final PauseTransition resizeDelay = new PauseTransition(Duration.millis(120));
+    private int cols = 5, rows = 4;
+    private int level = 1;
+    private PuzzleGame game;
+    private BoardRenderer renderer;
+    private final BoardLayer boardLayer = new BoardLayer();
+    private NodeBoardRenderer nodeRenderer;
+    private final CanvasBoardRenderer canvasRenderer = new CanvasBoardRenderer();
+    private final PuzzleGenerator generator = new PuzzleGenerator();
+    private final HintService hints = new HintService(Platform::runLater, this::showHint);
+    private final MoveQueue input = new MoveQueue(64, this::applyCommand,
+            (first, second) -> !this.isShuffling.get() && game.undoes(first, second), this::afterMoves);
+    private final AutoSolvePlayer player = new AutoSolvePlayer(this::applyMove, this::afterMoves,
+            () -> solveBtn.setSelected(false));
+    private Timeline timer;
+    private int secondsElapsed = 0;
+    private AtomicBoolean isShuffling = new AtomicBoolean(false);
+    private double tileSize = 80;
+    private Scene scene;
+
+    /**
+     * An image loaded this session and its preview. Its board texture is
+     * the decoded board image itself, with the tiles as viewports into it.
+     * Going back to the image needs no decode as long as the grid and tile
+     * size still match.
+     */
+    private static final class GalleryImage {
+        final String url;
+        final Image preview;
+        Image texture;
+        Rectangle2D[] viewports;
+        int rows, cols;
+
+        GalleryImage(String url, Image preview) {
+            this.url = url;
+            this.preview = preview;
+        }
+    }
+
+    /** The game in progress, or null before the first image has loaded. For tools and test drivers; read only. */
+    public PuzzleGame game() {
+        return game;
+    }
+
+    public void initialize(Scene scene) {
+        this.scene = scene;
+        setupRenderers();
+        setupLevelBox();
+        setupListeners();
+        setupTheme();
+    }
+
+    private void setupLevelBox() {
+        for (int i = PuzzleLevel.MIN; i <= PuzzleLevel.MAX; i++)
+            levelBox.getItems().add(i);
+        levelBox.setValue(1);
+        levelBox.setOnAction(e -> updateLevel());
+    }
+
+    private void setupRenderers() {
+        boardLayer.setId("boardLayer");
+        boardLayer.getStyleClass().add("grid-pane");
+        boardScroll.setContent(boardLayer);
+        nodeRenderer = new NodeBoardRenderer(boardLayer);
+        nodeRenderer.setOnCellClicked(this::handleCellClick);
+        canvasRenderer.setOnCellClicked(this::handleCellClick);
+        renderer = nodeRenderer;
+        canvasToggle.setOnAction(e -> switchRenderer(canvasToggle.isSelected() ? canvasRenderer : nodeRenderer));
+    }
+
+    /** Moves the current game over to another renderer; the board itself is untouched. */
+    private void switchRenderer(BoardRenderer next) {
+        if (next == renderer)
+            return;
+        renderer = next;
+        boardScroll.setContent(renderer.node());
+        if (game != null) {
+            renderer.show(game.board(), current.texture, current.viewports, tileSize);
+            showHint(-1);
+        }
+    }
+
+    private void setupListeners() {
+        // A window drag fires a size change per pixel; only act once it has settled.
+        resizeDelay.setOnFinished(e -> resizeBoard());
+        InvalidationListener resized = obs -> resizeDelay.playFromStart();
+        scene.widthProperty().addListener(resized);
+        scene.heightProperty().addListener(resized);
+
+        timer = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
+            secondsElapsed++;
+            timeLabel.setText(formatTime(secondsElapsed));
+        }));
+        timer.setCycleCount(Timeline.INDEFINITE);
+
+        // A filter, so arrows reach the board before the scroll pane or focus traversal take them.
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, this::handleKey);
+        boardScroll.addEventHandler(SwipeEvent.ANY, this::handleSwipe);
+
+        loadBtn.setOnAction(e -> handleLoadImage());
+        shuffleBtn.setOnAction(e -> shuffleBoard());
+        prevBtn.setOnAction(e -> showGalleryImage(-1));
+        nextBtn.setOnAction(e -> showGalleryImage(1));
+        resetBtn.setOnAction(e -> resetBoard());
+        hintBtn.setOnAction(e -> {
+            if (game != null && !isShuffling.get())
+                hints.request(game.board());
+        });
+        solveBtn.setOnAction(e -> toggleAutoSolve());
+        stepBtn.setOnAction(e -> stepAutoSolve());
+        player.setSpeed(speedSlider.getValue());
+        speedSlider.valueProperty().addListener((obs, oldV, newV) -> player.setSpeed(newV.doubleValue()));
+    }
+
+    private void setupTheme() {
+        // Load default light theme from classpath if available
+        try {
+            URL light = getClass().getResource("/light.css");
+            URL dark = getClass().getResource("/dark.css");
+            if (light != null) {
+                scene.getStylesheets().add(light.toExternalForm());
+            }
+
+            if (themeToggle != null) {
+                themeToggle.setOnAction(e -> {
+                    boolean darkMode = themeToggle.isSelected();
+                    applyTheme(darkMode, light, dark);
+                });
+            }
+        } catch (Exception ex) {
+            // ignore theme loading errors and continue
+            System.err.println("Theme load error: " + ex.getMessage());
+        }
+    }
+
+    private void applyTheme(boolean darkMode, URL light, URL dark) {
+        scene.getStylesheets().clear();
+        if (darkMode && dark != null) {
+            scene.getStylesheets().add(dark.toExternalForm());
+            if (themeToggle != null) themeToggle.setText("Light Mode");
+        } else if (light != null) {
+            scene.getStylesheets().add(light.toExternalForm());
+            if (themeToggle != null) themeToggle.setText("Dark Mode");
+        }
+    }
+
+    /**
+     * Fits the existing tiles to the new window size without touching the
+     * game: the permutation, move count and timer all carry on. Tiles are
+     * stretched at once, then the image is decoded again at the new size in
+     * the background and swapped in under the same viewports.
+     */
+    private void resizeBoard() {
+        // During a level change the grid fields are already ahead of the tiles; the load sizes the new board.
+        if (sourceUrl == null || !tilesMatchGrid())
+            return;
+        int size = (int) fitTileSize();
+        if (size <= 0 || size == (int) tileSize)
+            return;
+        tileSize = size;
+        renderer.setTileSize(size);
+        textureLoader.load(sourceUrl, 0, rows, cols, size, this::swapTexture, ex -> {
+            // The stretched texture stays usable, so there is nothing to alert about.
+            noteLabel.setText("");
+            System.err.println("Texture reload error: " + ex.getMessage());
+        });
+    }
+
+    private void swapTexture(ImageLoadPipeline.LoadedImage loaded) {
+        if (!loaded.url().equals(sourceUrl) || loaded.rows() != rows || loaded.cols() != cols
+                || loaded.tileSize() != (int) tileSize)
+            return;
+        setBoardTexture(loaded.scaled(), loaded.viewports());
+        renderer.setTexture(current.texture, current.viewports);
+    }
+
+    private void updateLevel() {
+        level = levelBox.getValue() != null ? levelBox.getValue() : 1;
+        if (sourceUrl != null) {
+            calculateGridSize();
+            startLoad(sourceUrl, 0);
+        }
+    }
+
+    private void resetBoard() {
+        if (sourceUrl == null || !ensureBoard())
+            return;
+        timer.stop();
+        clearPlayState();
+        game.reset();
+        resetGameState();
+        renderer.refresh(game.board());
+    }
+
+    @FXML
+    private void handleLoadImage() {
+        FileChooser chooser = new FileChooser();
+        File file = chooser.showOpenDialog(scene.getWindow());
+        if (file != null)
+            loadImage(file);
+    }
+
+    /** Loads {@code file} as if it had been picked with the Load Image button. */
+    public void loadImage(File file) {
+        calculateGridSize();
+        String url = file.toURI().toString();
+        // The preview is scaled down from the board image; the full-resolution image is never decoded.
+        startLoad(url, findGalleryImage(url) == null ? originalPreview.getFitWidth() : 0);
+    }
+
+    /** Steps through the images loaded this session, reusing their board textures where they still fit. */
+    private void showGalleryImage(int step) {
+        if (gallery.isEmpty())
+            return;
+        current = gallery.get(Math.floorMod(gallery.indexOf(current) + step, gallery.size()));
+        sourceUrl = current.url;
+        showPreview();
+        if (textureFits((int) fitTileSize()))
+            buildBoard();
+        else
+            startLoad(sourceUrl, 0);
+    }
+
+    private GalleryImage findGalleryImage(String url) {
+        for (GalleryImage image : gallery) {
+            if (image.url.equals(url))
+                return image;
+        }
+        return null;
+    }
+
+    private void showPreview() {
+        if (current.preview != null)
+            originalPreview.setImage(current.preview);
+    }
+
+    /** Decodes and tiles {@code url} in the background; the board is rebuilt once it is ready. */
+    private void startLoad(String url, double previewWidth) {
+        textureLoader.cancel();
+        tileSize = fitTileSize();
+        Task<ImageLoadPipeline.LoadedImage> task = imageLoader.load(url, previewWidth, rows, cols, (int) tileSize,
+                this::showLoadedImage,
+                ex -> {
+                    noteLabel.setText("");
+                    showAlert("Error loading image: " + ex.getMessage());
+                });
+        task.progressProperty().addListener((obs, oldV, newV) -> {
+            if (task.isRunning())
+                noteLabel.setText(String.format("Loading image... %d%%", (int) (newV.doubleValue() * 100)));
+        });
+    }
+
+    private void showLoadedImage(ImageLoadPipeline.LoadedImage loaded) {
+        noteLabel.setText("");
+        sourceUrl = loaded.url();
+        current = findGalleryImage(sourceUrl);
+        if (current == null) {
+            // The oldest image makes way once the gallery is full.
+            if (gallery.size() == GALLERY_SIZE)
+                gallery.remove(0);
+            current = new GalleryImage(sourceUrl, loaded.preview());
+            gallery.add(current);
+        }
+        showPreview();
+        setBoardTexture(loaded.scaled(), loaded.viewports());
+        buildBoard();
+    }
+
+    /**
+     * Makes a freshly decoded board image the texture of the current image.
+     * Nothing is copied: the tiles are viewports into the decoded image.
+     */
+    private void setBoardTexture(Image scaled, Rectangle2D[] tileViewports) {
+        current.texture = scaled;
+        current.viewports = tileViewports;
+        current.rows = rows;
+        current.cols = cols;
+    }
+
+    private boolean textureFits(int size) {
+        return current.texture != null && current.rows == rows && current.cols == cols
+                && current.texture.getWidth() == cols * size && current.texture.getHeight() == rows * size;
+    }
+
+    private void calculateGridSize() {
+        cols = PuzzleLevel.cols(level);
+        rows = PuzzleLevel.rows(level);
+    }
+
+    private double fitTileSize() {
+        return BoardBuilder.fitTileSize(scene.getWidth(), scene.getHeight(), rows, cols);
+    }
+
+    /**
+     * Deals a solved board for the current image and grid. If the decoded
+     * texture does not match the grid or window size any more, nothing is
+     * decoded here: the image is loaded again in the background and the
+     * board is built once it arrives.
+     */
+    private void buildBoard() {
+        int size = (int) fitTileSize();
+        if (!textureFits(size)) {
+            startLoad(sourceUrl, 0);
+            return;
+        }
+        isShuffling.set(true);
+        timer.stop();
+        resetGameState();
+
+        tileSize = fitTileSize();
+        clearPlayState();
+        game = BoardBuilder.show(renderer, rows, cols, current.texture, current.viewports, size);
+        isShuffling.set(false);
+    }
+
+    private boolean tilesMatchGrid() {
+        return game != null && game.board().rows() == rows && game.board().cols() == cols;
+    }
+
+    /**
+     * Returns true if the board on screen is for the current grid. Otherwise
+     * it is built, unless a load is already on its way to build it; either
+     * way the caller gets false while the new board is still loading.
+     */
+    private boolean ensureBoard() {
+        if (tilesMatchGrid())
+            return true;
+        if (!imageLoader.isLoading())
+            buildBoard();
+        return tilesMatchGrid();
+    }
+
+    private void clearPlayState() {
+        input.clear();
+        hints.reset();
+        showHint(-1);
+        player.clear();
+        solveBtn.setSelected(false);
+    }
+
+    private void handleCellClick(int cell) {
+        if (game != null && !isShuffling.get())
+            input.offer(cell);
+    }
+
+    private void handleKey(KeyEvent e) {
+        // Controls that use arrows themselves keep them while focused.
+        if (scene.getFocusOwner() instanceof ComboBoxBase || scene.getFocusOwner() instanceof Slider)
+            return;
+        int command = switch (e.getCode()) {
+            case UP -> PuzzleGame.UP;
+            case DOWN -> PuzzleGame.DOWN;
+            case LEFT -> PuzzleGame.LEFT;
+            case RIGHT -> PuzzleGame.RIGHT;
+            default -> 0;
+        };
+        if (command < 0 && game != null && !isShuffling.get()) {
+            input.offer(command);
+            e.consume();
+        }
+    }
+
+    private void handleSwipe(SwipeEvent e) {
+        int command = e.getEventType() == SwipeEvent.SWIPE_UP ? PuzzleGame.UP
+                : e.getEventType() == SwipeEvent.SWIPE_DOWN ? PuzzleGame.DOWN
+                : e.getEventType() == SwipeEvent.SWIPE_LEFT ? PuzzleGame.LEFT
+                : PuzzleGame.RIGHT;
+        if (game != null && !isShuffling.get()) {
+            input.offer(command);
+            e.consume();
+        }
+    }
+
+    /** Applies one queued player command; player input takes over from any auto-solve in progress. */
+    private boolean applyCommand(int command) {
+        int cell = game.target(command);
+        if (cell < 0 || isShuffling.get())
+            return false;
+        if (player.hasMoves()) {
+            player.clear();
+            solveBtn.setSelected(false);
+        }
+        if (!applyMove(cell))
+            return false;
+        // Input queued behind a winning move is dropped rather than undoing the win.
+        if (game.isSolved())
+            input.clear();
+        return true;
+    }
+
+    /** Slides the tile at {@code index} and redraws only that tile; labels are left to {@link #afterMoves()}. */
+    private boolean applyMove(int index) {
+        int blank = game.board().blankIndex();
+        int tile = game.move(index);
+        if (tile < 0)
+            return false;
+        renderer.tileMoved(tile, index, blank);
+        hints.moved(game.board(), index);
+        return true;
+    }
+
+    private void afterMoves() {
+        movesLabel.setText("Moves: " + game.moves());
+        if (game.moves() > 0 && timer.getStatus() != Animation.Status.RUNNING && !game.isSolved())
+            timer.play();
+        if (game.isSolved()) {
+            player.clear();
+            solveBtn.setSelected(false);
+            // Alerts cannot block inside an animation pulse, so show it once the pulse is over.
+            Platform.runLater(this::handleWin);
+        }
+    }
+
+    private void toggleAutoSolve() {
+        if (game == null || isShuffling.get() || game.isSolved()) {
+            solveBtn.setSelected(false);
+            return;
+        }
+        if (!solveBtn.isSelected()) {
+            player.pause();
+        } else if (player.hasMoves()) {
+            player.play();
+        } else {
+            hints.requestPath(game.board(), path -> {
+                if (path == null) {
+                    solveBtn.setSelected(false);
+                    return;
+                }
+                player.load(path);
+                if (solveBtn.isSelected())
+                    player.play();
+            });
+        }
+    }
+
+    private void stepAutoSolve() {
+        if (game == null || isShuffling.get() || game.isSolved())
+            return;
+        solveBtn.setSelected(false);
+        if (player.hasMoves()) {
+            player.step();
+        } else {
+            hints.requestPath(game.board(), path -> {
+                if (path != null) {
+                    player.load(path);
+                    player.step();
+                }
+            });
+        }
+    }
+
+    private void showHint(int cell) {
+        renderer.setHint(cell >= 0 ? game.board().tileAt(cell) : -1);
+    }
+
+    private void handleWin() {
+        timer.stop();
+        new Alert(Alert.AlertType.INFORMATION,
+                "Congratulations! Solved in " + game.moves() + " moves\nTime: " + formatTime(secondsElapsed))
+                .showAndWait();
+    }
+
+    private String formatTime(int seconds) {
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+
+    private void showAlert(String message) {
+        new Alert(Alert.AlertType.ERROR, message).showAndWait();
+    }
+
+    @FXML
+    private void shuffleBoard() {
+        if (sourceUrl == null || !ensureBoard())
+            return;
+        isShuffling.set(true);
+        timer.stop();
+        clearPlayState();
+        game = new PuzzleGame(generator.next(level));
+
+        resetGameState();
+        renderer.refresh(game.board());
+        isShuffling.set(false);
+    }
+
+    private void resetGameState() {
+        secondsElapsed = 0;
+        movesLabel.setText("Moves: 0");
+        timeLabel.setText("Time: 00:00");
+    }
+}
@@ -4,6 +4,8 @@ import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
+import java.io.File;
+import java.util.List;
 
 public class ImageSlidePuzzleMain extends Application {
     @Override
@@ -12,10 +14,19 @@ public class ImageSlidePuzzleMain extends Application {
         BorderPane root = loader.load();
 
         Scene scene = new Scene(root, 1000, 700);
+        ImageSlidePuzzleController controller = loader.getController();
+        controller.initialize(scene);
+        // Lets tools reach the controller from the window.
+        root.setUserData(controller);
         stage.setScene(scene);
         stage.setTitle("Sliding Image Puzzle");
         stage.getIcons().add(new Image("slider.png"));
         stage.show();
+
+        // An image path on the command line is opened straight away.
+        List<String> args = getParameters().getUnnamed();
+        if (!args.isEmpty())
+            controller.loadImage(new File(args.get(0)));
     }
 
     public static void main(String[] args) {
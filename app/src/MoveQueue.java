@@ -0,0 +1,89 @@
+import javafx.animation.AnimationTimer;
+import java.util.function.IntPredicate;
+
+/**
+ * Player input as a queue of move commands, applied once per pulse.
+ *
+ * Clicks, arrow keys and swipes only enqueue an int {@link PuzzleGame}
+ * command: a cell index for a click, or a direction, which is resolved
+ * against the blank when the move is applied. The queue is a fixed ring
+ * buffer drained by an {@link AnimationTimer}, so every command waiting at a
+ * pulse is applied in one batch and labels and the win check run once per
+ * frame. Commands beyond the buffer are dropped, which bounds how far input
+ * can run ahead of the display.
+ *
+ * Before a command is applied it is checked against the one queued behind
+ * it; a move followed straight away by the move that slides the same tile
+ * back is dropped as a pair, so jittery input never reaches the board.
+ * Commands that name no legal move are left to {@code applyMove} to reject.
+ */
+public final class MoveQueue {
+    /** Decides whether one command, followed by another, leaves the board as it was. */
+    @FunctionalInterface
+    public interface Inverse {
+        boolean undoes(int first, int second);
+    }
+
+    private final int[] commands;
+    private final int mask;
+    private int head, tail;
+    private final IntPredicate applyMove;
+    private final Inverse inverse;
+    private final Runnable onBatch;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drain();
+        }
+    };
+
+    /**
+     * @param capacity  rounded up to a power of two
+     * @param applyMove applies one command; returns false if it was not a legal move
+     * @param inverse   tells whether a command and the one after it cancel out
+     * @param onBatch   called once after each pulse that applied at least one move
+     */
+    public MoveQueue(int capacity, IntPredicate applyMove, Inverse inverse, Runnable onBatch) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.commands = new int[size];
+        this.mask = size - 1;
+        this.applyMove = applyMove;
+        this.inverse = inverse;
+        this.onBatch = onBatch;
+    }
+
+    /** Queues a command for the next pulse; returns false if the queue is full. */
+    public boolean offer(int command) {
+        if (tail - head == commands.length)
+            return false;
+        commands[tail++ & mask] = command;
+        timer.start();
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public void clear() {
+        head = tail = 0;
+        timer.stop();
+    }
+
+    /** Applies everything queued so far. Normally called by the pulse, but safe to call directly. */
+    public void drain() {
+        boolean moved = false;
+        while (head != tail) {
+            int command = commands[head++ & mask];
+            if (head != tail && inverse.undoes(command, commands[head & mask])) {
+                head++;
+                continue;
+            }
+            moved |= applyMove.test(command);
+        }
+        head = tail = 0;
+        timer.stop();
+        if (moved)
+            onBatch.run();
+    }
+}
@@ -0,0 +1,121 @@
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Renderer with one {@link ImageView} per tile on a {@link BoardLayer}. Every
+ * view shows a viewport onto the same texture, so building a board copies no
+ * pixels; the cost is one node per tile, which is fine up to a few hundred.
+ * Moves are shown as short slides by a pooled {@link SlideAnimator}.
+ */
+public class NodeBoardRenderer implements BoardRenderer {
+    private static final int SLIDE_SLOTS = 64;
+    private static final double SLIDE_MILLIS = 120;
+
+    private final BoardLayer layer;
+    private final SlideAnimator animator = new SlideAnimator(SLIDE_SLOTS, SLIDE_MILLIS);
+    private Board board;
+    private ImageView[] views;
+    private ImageView hinted;
+    private IntConsumer onCellClicked = cell -> {
+    };
+
+    public NodeBoardRenderer(BoardLayer layer) {
+        this.layer = layer;
+    }
+
+    @Override
+    public Node node() {
+        return layer;
+    }
+
+    /** Builds a fresh set of views and installs them with a single setAll. */
+    @Override
+    public void show(Board board, Image texture, Rectangle2D[] viewports, double tileSize) {
+        animator.finishAll();
+        this.board = board;
+        hinted = null;
+        views = new ImageView[board.size()];
+        List<ImageView> nodes = new ArrayList<>(board.size() - 1);
+        for (int id = 0; id < board.size(); id++) {
+            if (id == board.blankTile())
+                continue;
+            final int tile = id;
+            ImageView view = new ImageView(texture);
+            view.setViewport(viewports[id]);
+            view.setOnMouseClicked(e -> onCellClicked.accept(this.board.positionOf(tile)));
+            views[id] = view;
+            nodes.add(view);
+        }
+        layer.setGrid(board.rows(), board.cols(), tileSize);
+        placeAll();
+        layer.setTiles(nodes);
+    }
+
+    @Override
+    public void setTexture(Image texture, Rectangle2D[] viewports) {
+        for (int id = 0; id < views.length; id++) {
+            if (views[id] != null) {
+                views[id].setImage(texture);
+                views[id].setViewport(viewports[id]);
+            }
+        }
+    }
+
+    /** Stretches the current texture at once; a sharper one may follow through {@link #setTexture}. */
+    @Override
+    public void setTileSize(double tileSize) {
+        animator.finishAll();
+        for (ImageView view : views) {
+            if (view != null) {
+                view.setFitWidth(tileSize);
+                view.setFitHeight(tileSize);
+            }
+        }
+        layer.setGrid(board.rows(), board.cols(), tileSize);
+        placeAll();
+    }
+
+    @Override
+    public void tileMoved(int tile, int from, int to) {
+        ImageView view = views[tile];
+        layer.place(view, board.rowOf(to), board.colOf(to));
+        animator.slide(view, layer.cellX(board.colOf(from)) - layer.cellX(board.colOf(to)),
+                layer.cellY(board.rowOf(from)) - layer.cellY(board.rowOf(to)));
+    }
+
+    /** Re-seats the existing views; the child list is left alone. */
+    @Override
+    public void refresh(Board board) {
+        animator.finishAll();
+        this.board = board;
+        placeAll();
+    }
+
+    @Override
+    public void setHint(int tile) {
+        if (hinted != null)
+            hinted.getStyleClass().remove("hint");
+        hinted = tile >= 0 ? views[tile] : null;
+        if (hinted != null)
+            hinted.getStyleClass().add("hint");
+    }
+
+    @Override
+    public void setOnCellClicked(IntConsumer handler) {
+        onCellClicked = handler;
+    }
+
+    private void placeAll() {
+        for (int id = 0; id < views.length; id++) {
+            if (views[id] != null) {
+                int index = board.positionOf(id);
+                layer.place(views[id], board.rowOf(index), board.colOf(index));
+            }
+        }
+    }
+}
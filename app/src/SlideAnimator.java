@@ -0,0 +1,119 @@
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+
+/**
+ * Eases tiles into their new cell by animating the translate offset back to
+ * zero. The node's layout position is always its final cell, so the game
+ * never waits for an animation to end.
+ *
+ * All slides share a fixed pool of slots held in parallel arrays and are
+ * advanced by a single {@link AnimationTimer}, so starting a slide allocates
+ * nothing. A tile that is moved again while still sliding keeps its slot and
+ * simply restarts from wherever it is on screen. When every slot is busy, the
+ * oldest slide is snapped to its end to make room.
+ */
+public final class SlideAnimator {
+    /** Start time of a slide that has not seen a pulse yet; it sorts as the newest. */
+    private static final long PENDING = Long.MAX_VALUE;
+
+    private final Node[] nodes;
+    private final double[] fromX, fromY;
+    private final long[] started;
+    private int active;
+    private long durationNanos;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulse(now);
+        }
+    };
+
+    public SlideAnimator(int slots, double durationMillis) {
+        nodes = new Node[slots];
+        fromX = new double[slots];
+        fromY = new double[slots];
+        started = new long[slots];
+        setDuration(durationMillis);
+    }
+
+    public void setDuration(double millis) {
+        durationNanos = Math.max(1, (long) (millis * 1_000_000));
+    }
+
+    /**
+     * Starts a slide for a node that has just been relocated by
+     * ({@code -dx}, {@code -dy}); it is drawn where it was and eased home.
+     */
+    public void slide(Node node, double dx, double dy) {
+        int slot = slotOf(node);
+        if (slot < 0) {
+            if (active == nodes.length)
+                finish(oldest());
+            slot = active++;
+            nodes[slot] = node;
+        }
+        fromX[slot] = node.getTranslateX() + dx;
+        fromY[slot] = node.getTranslateY() + dy;
+        started[slot] = PENDING;
+        node.setTranslateX(fromX[slot]);
+        node.setTranslateY(fromY[slot]);
+        timer.start();
+    }
+
+    public boolean isRunning() {
+        return active > 0;
+    }
+
+    /** Snaps every slide to its end, e.g. before the board is rearranged wholesale. */
+    public void finishAll() {
+        while (active > 0)
+            finish(active - 1);
+        timer.stop();
+    }
+
+    private void pulse(long now) {
+        for (int slot = active - 1; slot >= 0; slot--) {
+            if (started[slot] == PENDING)
+                started[slot] = now;
+            double t = (double) (now - started[slot]) / durationNanos;
+            if (t >= 1) {
+                finish(slot);
+                continue;
+            }
+            double remaining = (1 - t) * (1 - t) * (1 - t);
+            nodes[slot].setTranslateX(fromX[slot] * remaining);
+            nodes[slot].setTranslateY(fromY[slot] * remaining);
+        }
+        if (active == 0)
+            timer.stop();
+    }
+
+    private int slotOf(Node node) {
+        for (int slot = 0; slot < active; slot++) {
+            if (nodes[slot] == node)
+                return slot;
+        }
+        return -1;
+    }
+
+    private int oldest() {
+        int oldest = 0;
+        for (int slot = 1; slot < active; slot++) {
+            if (started[slot] < started[oldest])
+                oldest = slot;
+        }
+        return oldest;
+    }
+
+    /** Puts the node home and moves the last active slot into the freed one. */
+    private void finish(int slot) {
+        nodes[slot].setTranslateX(0);
+        nodes[slot].setTranslateY(0);
+        int last = --active;
+        nodes[slot] = nodes[last];
+        fromX[slot] = fromX[last];
+        fromY[slot] = fromY[last];
+        started[slot] = started[last];
+        nodes[last] = null;
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Moves and the solved check on a shuffled board of each level's size.
+ *
+ * Moves replay a precomputed random walk of the blank followed by the same
+ * walk undone, so every move is legal and the board cycles through the same
+ * states on every pass.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    private static final int WALK = 4096;
+
+    @Param({ "1", "2", "3", "4", "5" })
+    public int level;
+
+    private Board board;
+    private PuzzleGame game;
+    private int[] walk;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        board = new Board(PuzzleLevel.rows(level), PuzzleLevel.cols(level));
+        SplittableRandom random = new SplittableRandom(42);
+        new BoardShuffler(random).shuffle(board);
+
+        Board scratch = board.copy();
+        walk = new int[2 * WALK];
+        for (int i = 0; i < WALK; i++) {
+            walk[2 * WALK - 1 - i] = scratch.blankIndex();
+            int cell;
+            do {
+                cell = scratch.blankIndex() + switch (random.nextInt(4)) {
+                    case 0 -> -scratch.cols();
+                    case 1 -> scratch.cols();
+                    case 2 -> -1;
+                    default -> 1;
+                };
+            } while (!scratch.isValidMove(cell));
+            scratch.moveTile(cell);
+            walk[i] = cell;
+        }
+        game = new PuzzleGame(board.copy());
+    }
+
+    @Benchmark
+    public boolean moveTile() {
+        int cell = walk[cursor];
+        cursor = (cursor + 1) % walk.length;
+        return board.moveTile(cell);
+    }
+
+    /** A move as the UI makes it: validated, applied and counted. */
+    @Benchmark
+    public int gameMove() {
+        int cell = walk[cursor];
+        cursor = (cursor + 1) % walk.length;
+        return game.move(cell);
+    }
+
+    @Benchmark
+    public boolean isSolved() {
+        return board.isSolved();
+    }
+}
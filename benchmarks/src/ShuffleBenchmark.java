@@ -0,0 +1,60 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scramble generation at the grid size of every level: the plain uniform
+ * shuffle, and the generator that walks the shuffle into the level's
+ * difficulty band, which is what a new game waits on when the queue is empty.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShuffleBenchmark {
+    @Param({ "1", "2", "3", "4", "5" })
+    public int level;
+
+    private Board board;
+    private BoardShuffler shuffler;
+    private PuzzleGenerator generator;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        board = new Board(PuzzleLevel.rows(level), PuzzleLevel.cols(level));
+        random = new SplittableRandom(42);
+        shuffler = new BoardShuffler(random);
+        // The generator's own queues fill once on its worker at start-up; only generate() is measured.
+        generator = new PuzzleGenerator(PuzzleGenerator.Difficulty.MANHATTAN, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        generator.close();
+    }
+
+    @Benchmark
+    public Board shuffle() {
+        shuffler.shuffle(board);
+        return board;
+    }
+
+    @Benchmark
+    public Board generate() {
+        return generator.generate(level, random);
+    }
+}
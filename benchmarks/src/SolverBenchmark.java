@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Every solver on a fixed corpus of 4x4 and 5x4 scrambles; one operation
+ * solves the whole corpus. The instances are written out rather than
+ * generated so that changes to the generator never move the baseline.
+ * They are hard enough to keep every worker of the parallel solver busy:
+ * on one core, IDA* with linear conflict needs about 35 s per corpus for
+ * both sizes, and with the pattern databases about 3 s for 4x4 and 24 s for
+ * 5x4. An operation is that long, so each one is timed on its own.
+ *
+ * Pattern databases are built on first use into {@code puzzle.pdb.dir}
+ * (default: a folder under the temp directory) and reused by later runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class SolverBenchmark {
+    private static final long BUDGET_MILLIS = 60_000;
+
+    /** Uniform shuffles with optimal solutions of 52 to 60 moves. */
+    private static final int[][] CORPUS_4X4 = {
+            { 5, 8, 12, 0, 11, 1, 4, 7, 6, 10, 3, 15, 14, 9, 2, 13 },
+            { 5, 4, 7, 6, 1, 10, 11, 15, 2, 8, 14, 0, 13, 3, 9, 12 },
+            { 6, 10, 11, 14, 1, 4, 12, 7, 15, 5, 8, 0, 9, 2, 13, 3 },
+            { 10, 12, 6, 14, 15, 9, 11, 2, 8, 4, 1, 5, 13, 7, 3, 0 },
+            { 15, 6, 9, 13, 7, 3, 5, 1, 10, 2, 4, 11, 14, 8, 0, 12 },
+            { 4, 9, 11, 13, 5, 10, 2, 14, 0, 7, 6, 1, 3, 8, 12, 15 },
+    };
+
+    /** Level-1 scrambles with optimal solutions of 60 to 67 moves. */
+    private static final int[][] CORPUS_5X4 = {
+            { 8, 5, 2, 0, 16, 7, 6, 19, 13, 4, 11, 9, 12, 3, 10, 1, 15, 17, 14, 18 },
+            { 19, 2, 4, 8, 16, 11, 6, 3, 9, 5, 15, 12, 17, 0, 1, 10, 18, 13, 7, 14 },
+            { 9, 7, 1, 0, 3, 14, 10, 6, 5, 8, 4, 2, 16, 12, 19, 11, 17, 15, 13, 18 },
+            { 15, 0, 12, 19, 6, 5, 2, 16, 9, 14, 7, 3, 11, 8, 10, 17, 1, 13, 18, 4 },
+            { 10, 19, 4, 13, 2, 0, 14, 15, 8, 17, 6, 1, 12, 3, 9, 16, 11, 5, 7, 18 },
+    };
+
+    /** Board size as {@code cols x rows}, matching the level labels. */
+    @Param({ "4x4", "5x4" })
+    public String grid;
+
+    @Param({ "ida-lc", "ida-pdb", "parallel-lc", "parallel-pdb", "reduction" })
+    public String solver;
+
+    private Board[] corpus;
+    private PuzzleSolver puzzleSolver;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException {
+        int cols = grid.equals("4x4") ? 4 : 5, rows = 4;
+        int[][] cells = cols == 4 ? CORPUS_4X4 : CORPUS_5X4;
+        corpus = new Board[cells.length];
+        for (int i = 0; i < cells.length; i++)
+            corpus[i] = Board.of(rows, cols, cells[i]);
+        puzzleSolver = switch (solver) {
+            case "ida-lc" -> new IdaStarSolver(new LinearConflictHeuristic(), BUDGET_MILLIS);
+            case "ida-pdb" -> new IdaStarSolver(PatternDatabaseHeuristic.open(pdbDirectory(), rows, cols), BUDGET_MILLIS);
+            case "parallel-lc" -> new ParallelIdaStarSolver(new LinearConflictHeuristic(), BUDGET_MILLIS);
+            case "parallel-pdb" -> new ParallelIdaStarSolver(PatternDatabaseHeuristic.open(pdbDirectory(), rows, cols),
+                    BUDGET_MILLIS);
+            case "reduction" -> new ReductionSolver();
+            default -> throw new IllegalArgumentException("Unknown solver " + solver);
+        };
+    }
+
+    private static Path pdbDirectory() {
+        return PatternDatabaseHeuristic.defaultDirectory();
+    }
+
+    /** Returns the total solution length so the work cannot be optimised away. */
+    @Benchmark
+    public int solveCorpus() {
+        int moves = 0;
+        for (Board board : corpus) {
+            SolveResult result = puzzleSolver.solve(board);
+            if (!result.isSolved())
+                throw new IllegalStateException(solver + " gave up on a corpus board: " + result.status());
+            moves += result.moves().length;
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Primitive sliding puzzle state, independent of any scene graph.
+ *
+ * Cells are numbered row-major. {@code cells[i]} holds the tile whose home is
+ * cell {@code i}; the blank is the tile {@code size() - 1}, whose home is the
+ * bottom-right cell. The inverse permutation is kept alongside so that both
+ * "what is at this cell" and "where is this tile" are O(1).
+ *
+ * The number of misplaced tiles and the total Manhattan distance (both
+ * ignoring the blank) are maintained on every move, so the solved check and
+ * the distance-to-solved metric never need a scan.
+ */
+public final class Board {
+    private final int rows, cols;
+    private final short[] cells;
+    private final short[] positions;
+    private int blank;
+    private int misplaced;
+    private int manhattan;
+
+    public Board(int rows, int cols) {
+        if (rows < 2 || cols < 2 || rows * cols > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Unsupported board size " + cols + "x" + rows);
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = new short[rows * cols];
+        this.positions = new short[rows * cols];
+        reset();
+    }
+
+    private Board(Board other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.cells = other.cells.clone();
+        this.positions = other.positions.clone();
+        this.blank = other.blank;
+        this.misplaced = other.misplaced;
+        this.manhattan = other.manhattan;
+    }
+
+    /**
+     * A board holding {@code cells[i]} in cell {@code i}. The cells must be a
+     * permutation of the tile ids; whether it can be solved is not checked.
+     */
+    public static Board of(int rows, int cols, int... cells) {
+        Board board = new Board(rows, cols);
+        if (cells.length != board.size())
+            throw new IllegalArgumentException("Expected " + board.size() + " cells, got " + cells.length);
+        java.util.Arrays.fill(board.positions, (short) -1);
+        for (int i = 0; i < cells.length; i++) {
+            int tile = cells[i];
+            if (tile < 0 || tile >= cells.length || board.positions[tile] >= 0)
+                throw new IllegalArgumentException("Not a permutation: tile " + tile + " at cell " + i);
+            board.cells[i] = (short) tile;
+            board.positions[tile] = (short) i;
+        }
+        board.blank = board.positions[board.blankTile()];
+        board.recount();
+        return board;
+    }
+
+    public Board copy() {
+        return new Board(this);
+    }
+
+    public void reset() {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (short) i;
+            positions[i] = (short) i;
+        }
+        blank = cells.length - 1;
+        misplaced = 0;
+        manhattan = 0;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public int blankTile() {
+        return cells.length - 1;
+    }
+
+    public int blankIndex() {
+        return blank;
+    }
+
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    public int rowOf(int index) {
+        return index / cols;
+    }
+
+    public int colOf(int index) {
+        return index % cols;
+    }
+
+    public int tileAt(int index) {
+        return cells[index];
+    }
+
+    public int positionOf(int tile) {
+        return positions[tile];
+    }
+
+    public boolean isBlank(int index) {
+        return index == blank;
+    }
+
+    public boolean isValidMove(int index) {
+        if (index < 0 || index >= cells.length || index == blank)
+            return false;
+        int dr = Math.abs(index / cols - blank / cols);
+        int dc = Math.abs(index % cols - blank % cols);
+        return dr + dc == 1;
+    }
+
+    /**
+     * Slides the tile at {@code index} into the blank. Returns false and
+     * leaves the board untouched if the tile is not next to the blank.
+     */
+    public boolean moveTile(int index) {
+        if (!isValidMove(index))
+            return false;
+        slide(index);
+        return true;
+    }
+
+    /** Unchecked move for callers that already know {@code index} is adjacent to the blank. */
+    void slide(int index) {
+        short tile = cells[index];
+        if (tile == index)
+            misplaced++;
+        else if (tile == blank)
+            misplaced--;
+        manhattan += distance(tile, blank) - distance(tile, index);
+        cells[blank] = tile;
+        positions[tile] = (short) blank;
+        cells[index] = (short) blankTile();
+        positions[blankTile()] = (short) index;
+        blank = index;
+    }
+
+    /**
+     * Swaps the contents of two cells without any adjacency check. Used by
+     * generators that build arbitrary permutations; {@link #recount()} must be
+     * called once they are done.
+     */
+    void swap(int i, int j) {
+        short a = cells[i], b = cells[j];
+        cells[i] = b;
+        cells[j] = a;
+        positions[a] = (short) j;
+        positions[b] = (short) i;
+        if (a == blankTile())
+            blank = j;
+        else if (b == blankTile())
+            blank = i;
+    }
+
+    /** Recomputes the cached counters from scratch after raw {@link #swap} calls. */
+    void recount() {
+        misplaced = 0;
+        manhattan = 0;
+        for (int i = 0; i < cells.length; i++) {
+            int tile = cells[i];
+            if (tile == blankTile())
+                continue;
+            if (tile != i)
+                misplaced++;
+            manhattan += distance(tile, i);
+        }
+    }
+
+    public boolean isSolved() {
+        return misplaced == 0;
+    }
+
+    /** Number of tiles, not counting the blank, that are away from their home cell. */
+    public int misplacedTiles() {
+        return misplaced;
+    }
+
+    /** Sum of the Manhattan distances of every tile, not counting the blank, to its home cell. */
+    public int manhattanDistance() {
+        return manhattan;
+    }
+
+    /** Manhattan distance between the home cell of {@code tile} and {@code index}. */
+    public int distance(int tile, int index) {
+        return Math.abs(tile / cols - index / cols) + Math.abs(tile % cols - index % cols);
+    }
+}
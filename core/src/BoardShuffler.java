@@ -0,0 +1,46 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Produces uniformly random solvable boards.
+ *
+ * A single Fisher–Yates pass permutes every cell, blank included, while
+ * tracking the parity of the permutation. A board is solvable exactly when
+ * that parity matches the parity of the blank's distance from its home cell;
+ * when it does not, two fixed non-blank tiles are swapped. That swap pairs
+ * each unsolvable permutation with exactly one solvable one, so the result
+ * stays uniform over all solvable boards.
+ */
+public final class BoardShuffler {
+    private final RandomGenerator random;
+
+    public BoardShuffler() {
+        this(RandomGenerator.getDefault());
+    }
+
+    public BoardShuffler(RandomGenerator random) {
+        this.random = random;
+    }
+
+    public void shuffle(Board board) {
+        do {
+            board.reset();
+            boolean odd = false;
+            for (int i = board.size() - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                if (j != i) {
+                    board.swap(i, j);
+                    odd = !odd;
+                }
+            }
+
+            boolean blankOdd = (board.distance(board.blankTile(), board.blankIndex()) & 1) == 1;
+            if (odd != blankOdd) {
+                int blank = board.blankIndex();
+                int a = blank == 0 ? 1 : 0;
+                int b = a + 1 == blank ? a + 2 : a + 1;
+                board.swap(a, b);
+            }
+            board.recount();
+        } while (board.isSolved());
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Admissible estimate of the number of moves left to solve a board, kept up
+ * to date move by move so searches never recompute it from scratch.
+ */
+public interface Heuristic {
+    /** Rebuilds any internal state for {@code board} and returns its estimate. */
+    int reset(Board board);
+
+    /**
+     * Called after {@code tile} slid from cell {@code from} to cell {@code to};
+     * returns the estimate for the board as it is now. What the update
+     * changed is remembered until {@link #undo()} or the next reset.
+     */
+    int update(Board board, int tile, int from, int to);
+
+    /**
+     * Reverts the latest update not yet undone, once the board has slid the
+     * tile back. Restores saved values rather than recomputing, so a search
+     * can unmake a move in constant time.
+     */
+    void undo();
+
+    /** Returns an independent instance, sharing any immutable tables, for use by another search. */
+    Heuristic copy();
+}
@@ -0,0 +1,179 @@
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Computes hints in the background and caches the rest of the solution.
+ *
+ * Solves run on virtual threads; results are handed back through the
+ * callback executor, which is also the only thread expected to call this
+ * class, so no state here needs locking. As long as the player follows the
+ * cached path each further hint is a table lookup. Any other move cancels
+ * the running search, if there is one, and starts a new one from the board
+ * as it is now.
+ *
+ * Each search delivers the reduction solver's path first, which takes
+ * milliseconds at any size. On small boards IDA* then looks for an optimal
+ * path within a short budget and replaces the cached one if it is shorter
+ * and the player has not started following it yet.
+ */
+public final class HintService implements AutoCloseable {
+    private static final int OPTIMAL_LIMIT = 20;
+    private static final long OPTIMAL_BUDGET_MILLIS = 1500;
+
+    private final ExecutorService executor;
+    private final Executor callbackExecutor;
+    private final IntConsumer listener;
+    private final long optimalBudgetMillis;
+
+    private int[] path;
+    private int cursor;
+    private boolean active;
+    private Consumer<int[]> pathRequest;
+    private long generation;
+    private Future<?> pending;
+
+    /**
+     * @param callbackExecutor thread the service is used from, e.g. {@code Platform::runLater}
+     * @param listener receives the cell whose tile should be slid next, or -1 when solved
+     */
+    public HintService(Executor callbackExecutor, IntConsumer listener) {
+        this(Executors.newVirtualThreadPerTaskExecutor(), callbackExecutor, listener, OPTIMAL_BUDGET_MILLIS);
+    }
+
+    /** For tests: solves run on {@code executor}, and IDA* gets {@code optimalBudgetMillis}. */
+    HintService(ExecutorService executor, Executor callbackExecutor, IntConsumer listener, long optimalBudgetMillis) {
+        this.executor = executor;
+        this.callbackExecutor = callbackExecutor;
+        this.listener = listener;
+        this.optimalBudgetMillis = optimalBudgetMillis;
+    }
+
+    /** Asks for a hint on {@code board}; answered at once when the cached path still applies. */
+    public void request(Board board) {
+        active = true;
+        if (board.isSolved())
+            listener.accept(-1);
+        else if (path != null)
+            listener.accept(cursor < path.length ? path[cursor] : -1);
+        else if (pending == null)
+            start(board);
+    }
+
+    /**
+     * Asks for every remaining move from {@code board}, for auto-solve. Shares
+     * the cached path with hints, so one search serves both. The callback
+     * gets null if no solver could find a path.
+     */
+    public void requestPath(Board board, Consumer<int[]> callback) {
+        if (path != null) {
+            callback.accept(Arrays.copyOfRange(path, cursor, path.length));
+        } else {
+            pathRequest = callback;
+            if (pending == null)
+                start(board);
+        }
+    }
+
+    /** Tells the service that the tile at {@code cell} was just slid into the blank. */
+    public void moved(Board board, int cell) {
+        if (path != null && cursor < path.length && path[cursor] == cell) {
+            cursor++;
+            // The player is following the path, so an upgrade for its first move is of no use any more.
+            cancelPending();
+            if (active)
+                listener.accept(cursor < path.length ? path[cursor] : -1);
+            return;
+        }
+        if (path == null && pending == null && !active && pathRequest == null)
+            return;
+        path = null;
+        if ((active || pathRequest != null) && !board.isSolved())
+            start(board);
+        else
+            cancelPending();
+    }
+
+    /** Forgets the cached path and any running search, e.g. after a new board was dealt. */
+    public void reset() {
+        cancelPending();
+        path = null;
+        active = false;
+        pathRequest = null;
+    }
+
+    private void start(Board board) {
+        cancelPending();
+        long id = generation;
+        Board snapshot = board.copy();
+        pending = executor.submit(() -> {
+            SolveResult quick = solve(new ReductionSolver(), snapshot);
+            boolean upgrade = snapshot.size() <= OPTIMAL_LIMIT && !Thread.currentThread().isInterrupted();
+            callbackExecutor.execute(() -> deliver(id, quick, !upgrade));
+            if (upgrade) {
+                SolveResult optimal = solve(new IdaStarSolver(new LinearConflictHeuristic(), optimalBudgetMillis),
+                        snapshot);
+                callbackExecutor.execute(() -> deliver(id, optimal, true));
+            }
+        });
+    }
+
+    /**
+     * Takes a result of search {@code id}. A solution becomes the cached path,
+     * or replaces it if shorter while the player has not moved along it yet.
+     * If the {@code last} result leaves no path at all, anyone waiting is told
+     * so rather than left waiting.
+     */
+    private void deliver(long id, SolveResult result, boolean last) {
+        if (id != generation)
+            return;
+        if (last)
+            pending = null;
+        if (result.isSolved() && (path == null || cursor == 0 && result.moves().length < path.length)) {
+            path = result.moves();
+            cursor = 0;
+            if (pathRequest != null) {
+                Consumer<int[]> callback = pathRequest;
+                pathRequest = null;
+                callback.accept(path.clone());
+            }
+            if (active)
+                listener.accept(path.length > 0 ? path[0] : -1);
+        } else if (last && path == null) {
+            if (pathRequest != null) {
+                Consumer<int[]> callback = pathRequest;
+                pathRequest = null;
+                callback.accept(null);
+            }
+            if (active)
+                listener.accept(-1);
+        }
+    }
+
+    private void cancelPending() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    /** Runs {@code solver}; an exception becomes a failed result, so a broken solve still reaches {@link #deliver}. */
+    private static SolveResult solve(PuzzleSolver solver, Board board) {
+        try {
+            return solver.solve(board);
+        } catch (RuntimeException e) {
+            return new SolveResult(SolveResult.Status.FAILED, new int[0], 0);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelPending();
+        executor.shutdownNow();
+    }
+}
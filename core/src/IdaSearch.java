@@ -0,0 +1,93 @@
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One bounded depth-first pass of IDA*, shared by the sequential and parallel
+ * solvers. Moves are made and unmade in place on {@code board} with the
+ * heuristic following along; unmaking one restores the heuristic's saved
+ * values instead of rescanning. A pass allocates nothing once the path
+ * buffer and the heuristic's undo stack are large enough.
+ */
+final class IdaSearch {
+    static final int FOUND = -1;
+    static final int ABORTED = -2;
+    private static final int CHECK_INTERVAL = 0xFFF;
+
+    private final Board board;
+    private final Heuristic heuristic;
+    private final BooleanSupplier stop;
+    private int[] path = new int[0];
+    private int length;
+    private long nodes;
+
+    IdaSearch(Board board, Heuristic heuristic, BooleanSupplier stop) {
+        this.board = board;
+        this.heuristic = heuristic;
+        this.stop = stop;
+    }
+
+    /**
+     * Searches below the current board, which is {@code g} moves from the
+     * root and has estimate {@code h}. Returns {@link #FOUND}, {@link #ABORTED}
+     * or the smallest f-value that exceeded {@code bound}.
+     */
+    int run(int g, int h, int bound, int previous) {
+        if (path.length < bound + 1)
+            path = Arrays.copyOf(path, bound + 16);
+        return search(g, h, bound, previous);
+    }
+
+    /** The moves from depth {@code prefix.length} onwards, appended to {@code prefix}. */
+    int[] solution(int[] prefix) {
+        int[] moves = Arrays.copyOf(path, length);
+        System.arraycopy(prefix, 0, moves, 0, prefix.length);
+        return moves;
+    }
+
+    long nodes() {
+        return nodes;
+    }
+
+    private int search(int g, int h, int bound, int previous) {
+        int f = g + h;
+        if (f > bound)
+            return f;
+        if (board.isSolved()) {
+            length = g;
+            return FOUND;
+        }
+        if ((++nodes & CHECK_INTERVAL) == 0 && stop.getAsBoolean())
+            return ABORTED;
+
+        int blank = board.blankIndex();
+        int min = Integer.MAX_VALUE;
+        for (int dir = 0; dir < 4; dir++) {
+            int next = neighbour(blank, dir, board.cols());
+            if (next == previous || !board.isValidMove(next))
+                continue;
+            int tile = board.tileAt(next);
+            board.slide(next);
+            int childH = heuristic.update(board, tile, next, blank);
+            path[g] = next;
+
+            int t = search(g + 1, childH, bound, blank);
+
+            board.slide(blank);
+            heuristic.undo();
+            if (t == FOUND || t == ABORTED)
+                return t;
+            if (t < min)
+                min = t;
+        }
+        return min;
+    }
+
+    static int neighbour(int blank, int dir, int cols) {
+        return switch (dir) {
+            case 0 -> blank - cols;
+            case 1 -> blank + cols;
+            case 2 -> blank - 1;
+            default -> blank + 1;
+        };
+    }
+}
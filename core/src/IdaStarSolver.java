@@ -0,0 +1,128 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optimal solver using iterative-deepening A*.
+ *
+ * The search works on a private copy of the board, making and unmaking moves
+ * in place and updating the heuristic incrementally, so expanding a node
+ * allocates nothing. Each deepening iteration reports its bound through the
+ * progress callback. The run stops with {@link SolveResult.Status#TIMED_OUT}
+ * once the time budget is spent, or {@link SolveResult.Status#CANCELLED} after
+ * {@link #cancel()} or an interrupt. A cancel only reaches the runs in
+ * progress when it is made. Each run keeps its own stop state and heuristic
+ * copy, so one solver can serve many boards, even at the same time.
+ *
+ * A solver made with the no-arg constructor picks the heuristic per board
+ * size: the default pattern databases where
+ * {@link PatternDatabaseHeuristic#defaultPartition} has a partition, and
+ * linear conflict elsewhere. It only maps tables that are already in
+ * {@link PatternDatabaseHeuristic#defaultDirectory()} and uses linear
+ * conflict until they are; building them, which for 5x4 takes minutes, is
+ * left to an explicit {@link PatternDatabaseHeuristic#open} call.
+ *
+ * 3x3 and 4x4 boards solve within seconds. Level-1 5x4 scrambles are at the
+ * limit of the method: with the 7-7-5 tables, on one core, about half of
+ * them solve within the minute and the rest time out, and with linear
+ * conflict alone fewer still. Use {@link ReductionSolver} when any solution
+ * will do.
+ */
+public final class IdaStarSolver implements PuzzleSolver {
+    /** Mapped default pattern databases by table directory and board size, shared by every default solver. */
+    private static final Map<Path, Heuristic> DEFAULTS = new ConcurrentHashMap<>();
+
+    /** Null for the per-size default. */
+    private final Heuristic heuristic;
+    private final long timeBudgetMillis;
+    /** Bumped by every cancel; a run stops once it differs from the value seen when the run began. */
+    private final AtomicLong cancels = new AtomicLong();
+
+    /** The default heuristic for each board size, with a one-minute budget. */
+    public IdaStarSolver() {
+        this(null, 60_000);
+    }
+
+    public IdaStarSolver(Heuristic heuristic, long timeBudgetMillis) {
+        this.heuristic = heuristic;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    @Override
+    public SolveResult solve(Board start, Progress progress) {
+        SolverEvent event = new SolverEvent();
+        event.begin();
+        long cancelsAtStart = cancels.get();
+        Heuristic chosen = heuristic != null ? heuristic : defaultHeuristic(start.rows(), start.cols());
+        Run run = new Run(System.nanoTime() + timeBudgetMillis * 1_000_000L, cancelsAtStart);
+        return event.finish("ida*/" + chosen.getClass().getSimpleName(), start, run.search(start, chosen, progress));
+    }
+
+    @Override
+    public void cancel() {
+        cancels.incrementAndGet();
+    }
+
+    /**
+     * The default pattern databases for the size, or linear conflict when
+     * there is no default partition or its tables have not been built or
+     * cannot be read. Only mapped tables are cached, so tables built later
+     * are picked up by the next solve. Two first solves of a size may both
+     * map the tables; mapping is cheap and one of the two is kept.
+     */
+    private static Heuristic defaultHeuristic(int rows, int cols) {
+        if (PatternDatabaseHeuristic.defaultPartition(rows, cols) == null)
+            return new LinearConflictHeuristic();
+        Path directory = PatternDatabaseHeuristic.defaultDirectory();
+        Path key = directory.resolve(cols + "x" + rows);
+        Heuristic cached = DEFAULTS.get(key);
+        if (cached != null)
+            return cached;
+        try {
+            Heuristic loaded = PatternDatabaseHeuristic.load(directory, rows, cols);
+            cached = DEFAULTS.putIfAbsent(key, loaded);
+            return cached != null ? cached : loaded;
+        } catch (IOException e) {
+            return new LinearConflictHeuristic();
+        }
+    }
+
+    /** Stop state of one solve. */
+    private final class Run {
+        private final long deadline;
+        private final long cancelsAtStart;
+        private SolveResult.Status stopReason;
+
+        Run(long deadline, long cancelsAtStart) {
+            this.deadline = deadline;
+            this.cancelsAtStart = cancelsAtStart;
+        }
+
+        SolveResult search(Board start, Heuristic heuristic, Progress progress) {
+            Board board = start.copy();
+            Heuristic local = heuristic.copy();
+            IdaSearch search = new IdaSearch(board, local, this::shouldStop);
+            int h = local.reset(board);
+            int bound = h;
+            while (true) {
+                int t = search.run(0, h, bound, -1);
+                if (t == IdaSearch.FOUND)
+                    return new SolveResult(SolveResult.Status.SOLVED, search.solution(new int[0]), search.nodes());
+                if (t == IdaSearch.ABORTED)
+                    return new SolveResult(stopReason, new int[0], search.nodes());
+                bound = t;
+                progress.update(bound, search.nodes());
+            }
+        }
+
+        private boolean shouldStop() {
+            if (cancels.get() != cancelsAtStart || Thread.currentThread().isInterrupted())
+                stopReason = SolveResult.Status.CANCELLED;
+            else if (System.nanoTime() - deadline > 0)
+                stopReason = SolveResult.Status.TIMED_OUT;
+            return stopReason != null;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.Arrays;
+
+/**
+ * Manhattan distance plus linear conflicts.
+ *
+ * For each row, the tiles that belong in that row must end up in increasing
+ * column order; every tile that has to leave the row to let the others pass
+ * costs two extra moves, and the fewest such tiles is the row length minus the
+ * longest increasing run. Columns work the same way. A horizontal move only
+ * changes the contents of two columns and a vertical move only two rows, so
+ * each update rescans two lines. Their old counts go on a stack, which
+ * {@link #undo()} pops without rescanning anything.
+ */
+public final class LinearConflictHeuristic implements Heuristic {
+    /** Entries per update on the undo stack: both lines with their old counts, and the old total. */
+    private static final int FRAME = 5;
+
+    private int[] rowConflicts = new int[0];
+    private int[] colConflicts = new int[0];
+    private int[] tails = new int[0];
+    private int conflicts;
+    private int[] undo = new int[16 * FRAME];
+    private int top;
+
+    @Override
+    public int reset(Board board) {
+        int rows = board.rows(), cols = board.cols();
+        if (rowConflicts.length != rows || colConflicts.length != cols) {
+            rowConflicts = new int[rows];
+            colConflicts = new int[cols];
+            tails = new int[Math.max(rows, cols)];
+        }
+        conflicts = 0;
+        top = 0;
+        for (int r = 0; r < rows; r++) {
+            rowConflicts[r] = rowConflicts(board, r);
+            conflicts += rowConflicts[r];
+        }
+        for (int c = 0; c < cols; c++) {
+            colConflicts[c] = colConflicts(board, c);
+            conflicts += colConflicts[c];
+        }
+        return board.manhattanDistance() + 2 * conflicts;
+    }
+
+    @Override
+    public int update(Board board, int tile, int from, int to) {
+        int cols = board.cols();
+        if (top + FRAME > undo.length)
+            undo = Arrays.copyOf(undo, undo.length * 2);
+        undo[top + 4] = conflicts;
+        if (from / cols == to / cols) {
+            // Columns are stored as ~c so undo can tell them from rows.
+            saveLine(~(from % cols), colConflicts[from % cols], ~(to % cols), colConflicts[to % cols]);
+            refreshCol(board, from % cols);
+            refreshCol(board, to % cols);
+        } else {
+            saveLine(from / cols, rowConflicts[from / cols], to / cols, rowConflicts[to / cols]);
+            refreshRow(board, from / cols);
+            refreshRow(board, to / cols);
+        }
+        top += FRAME;
+        return board.manhattanDistance() + 2 * conflicts;
+    }
+
+    @Override
+    public void undo() {
+        top -= FRAME;
+        int a = undo[top], b = undo[top + 2];
+        int[] lines = a < 0 ? colConflicts : rowConflicts;
+        lines[a < 0 ? ~a : a] = undo[top + 1];
+        lines[b < 0 ? ~b : b] = undo[top + 3];
+        conflicts = undo[top + 4];
+    }
+
+    private void saveLine(int a, int countA, int b, int countB) {
+        undo[top] = a;
+        undo[top + 1] = countA;
+        undo[top + 2] = b;
+        undo[top + 3] = countB;
+    }
+
+    @Override
+    public Heuristic copy() {
+        return new LinearConflictHeuristic();
+    }
+
+    private void refreshRow(Board board, int r) {
+        int value = rowConflicts(board, r);
+        conflicts += value - rowConflicts[r];
+        rowConflicts[r] = value;
+    }
+
+    private void refreshCol(Board board, int c) {
+        int value = colConflicts(board, c);
+        conflicts += value - colConflicts[c];
+        colConflicts[c] = value;
+    }
+
+    private int rowConflicts(Board board, int r) {
+        int cols = board.cols(), blank = board.blankTile();
+        int count = 0, longest = 0;
+        for (int c = 0; c < cols; c++) {
+            int tile = board.tileAt(r * cols + c);
+            if (tile != blank && tile / cols == r) {
+                count++;
+                longest = extend(longest, tile % cols);
+            }
+        }
+        return count - longest;
+    }
+
+    private int colConflicts(Board board, int c) {
+        int rows = board.rows(), cols = board.cols(), blank = board.blankTile();
+        int count = 0, longest = 0;
+        for (int r = 0; r < rows; r++) {
+            int tile = board.tileAt(r * cols + c);
+            if (tile != blank && tile % cols == c) {
+                count++;
+                longest = extend(longest, tile / cols);
+            }
+        }
+        return count - longest;
+    }
+
+    /** One patience-sorting step of a longest increasing subsequence over {@link #tails}. */
+    private int extend(int length, int value) {
+        int lo = 0, hi = length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (tails[mid] < value)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        tails[lo] = value;
+        return lo == length ? length + 1 : length;
+    }
+}
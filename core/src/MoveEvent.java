@@ -0,0 +1,46 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("puzzle.Move")
+@Label("Move")
+@Category({ "Image Slide Puzzle", "Game" })
+@Description("A player move applied to the board")
+@StackTrace(false)
+final class MoveEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(MoveEvent.class);
+
+    @Label("Rows")
+    int rows;
+    @Label("Columns")
+    int cols;
+    @Label("Tile Count")
+    int tileCount;
+    @Label("Tile")
+    int tile;
+    @Label("From Cell")
+    int from;
+    @Label("To Cell")
+    int to;
+    @Label("Moves So Far")
+    int moves;
+
+    /** Records a move; nothing is allocated while the event is disabled. */
+    static void emit(Board board, int tile, int from, int to, int moves) {
+        if (!TYPE.isEnabled())
+            return;
+        MoveEvent event = new MoveEvent();
+        event.rows = board.rows();
+        event.cols = board.cols();
+        event.tileCount = board.size() - 1;
+        event.tile = tile;
+        event.from = from;
+        event.to = to;
+        event.moves = moves;
+        event.commit();
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * IDA* spread over a {@link ForkJoinPool}.
+ *
+ * Each deepening iteration expands the tree down to {@code splitDepth} as
+ * separate tasks, each with its own board and heuristic copy; below that a
+ * task runs the ordinary sequential search. Work stealing balances the
+ * uneven subtrees. Every worker shares the iteration bound, and the first
+ * one to reach a solution within it stops all the others, since any solution
+ * at the current bound is optimal. As with {@link IdaStarSolver}, a cancel
+ * only reaches the solves in progress when it is made.
+ *
+ * On a pool with a single worker there is nothing to balance, and copying
+ * boards for the split only costs time, so each iteration then runs as one
+ * sequential search.
+ *
+ * The speedup depends on how evenly the subtrees below the split depth
+ * share the last iteration's work. Subtrees that are cut off early free
+ * their worker to steal from the others. The iterations before the last
+ * one exhaust their whole tree, so they gain the most.
+ */
+public final class ParallelIdaStarSolver implements PuzzleSolver {
+    private final Heuristic heuristic;
+    private final long timeBudgetMillis;
+    private final int splitDepth;
+    private final ForkJoinPool pool;
+    /** Bumped by every cancel; a solve stops once it differs from the value seen when the solve began. */
+    private final AtomicLong cancels = new AtomicLong();
+
+    public ParallelIdaStarSolver(Heuristic heuristic, long timeBudgetMillis) {
+        this(heuristic, timeBudgetMillis, 6, ForkJoinPool.commonPool());
+    }
+
+    public ParallelIdaStarSolver(Heuristic heuristic, long timeBudgetMillis, int splitDepth, ForkJoinPool pool) {
+        this.heuristic = heuristic;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.splitDepth = splitDepth;
+        this.pool = pool;
+    }
+
+    @Override
+    public SolveResult solve(Board start, Progress progress) {
+        SolverEvent event = new SolverEvent();
+        event.begin();
+        return event.finish("parallel-ida*/" + heuristic.getClass().getSimpleName(), start,
+                search(start, progress));
+    }
+
+    private SolveResult search(Board start, Progress progress) {
+        Iteration iteration = new Iteration(Thread.currentThread(),
+                System.nanoTime() + timeBudgetMillis * 1_000_000L, pool.getParallelism() > 1 ? splitDepth : 0);
+
+        Board board = start.copy();
+        Heuristic root = heuristic.copy();
+        int h = root.reset(board);
+        iteration.bound = h;
+        while (true) {
+            // A search that does not end the solve leaves board and heuristic as it found them.
+            int t = pool.invoke(new SearchTask(iteration, board, root, new int[0], h, -1));
+            int[] solution = iteration.solution.get();
+            if (solution != null)
+                return new SolveResult(SolveResult.Status.SOLVED, solution, iteration.nodes.sum());
+            if (t == IdaSearch.ABORTED)
+                return new SolveResult(iteration.stopReason, new int[0], iteration.nodes.sum());
+            iteration.bound = t;
+            progress.update(t, iteration.nodes.sum());
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancels.incrementAndGet();
+    }
+
+    /** State shared by every task of one solve. */
+    private final class Iteration {
+        final Thread caller;
+        final long deadline;
+        final int split;
+        final long cancelsAtStart = cancels.get();
+        final AtomicReference<int[]> solution = new AtomicReference<>();
+        final LongAdder nodes = new LongAdder();
+        volatile int bound;
+        volatile SolveResult.Status stopReason;
+
+        Iteration(Thread caller, long deadline, int split) {
+            this.caller = caller;
+            this.deadline = deadline;
+            this.split = split;
+        }
+
+        boolean shouldStop() {
+            if (solution.get() != null)
+                return true;
+            if (cancels.get() != cancelsAtStart || caller.isInterrupted())
+                stopReason = SolveResult.Status.CANCELLED;
+            else if (System.nanoTime() - deadline > 0)
+                stopReason = SolveResult.Status.TIMED_OUT;
+            return stopReason != null;
+        }
+    }
+
+    /** Tasks are never serialized; ForkJoinTask is Serializable only by inheritance. */
+    private final class SearchTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Iteration iteration;
+        private final transient Board board;
+        private final transient Heuristic heuristic;
+        private final int[] prefix;
+        private final int h;
+        private final int previous;
+
+        SearchTask(Iteration iteration, Board board, Heuristic heuristic, int[] prefix, int h, int previous) {
+            this.iteration = iteration;
+            this.board = board;
+            this.heuristic = heuristic;
+            this.prefix = prefix;
+            this.h = h;
+            this.previous = previous;
+        }
+
+        @Override
+        protected Integer compute() {
+            int g = prefix.length;
+            if (iteration.shouldStop())
+                return IdaSearch.ABORTED;
+            if (g + h > iteration.bound)
+                return g + h;
+
+            if (g >= iteration.split || board.isSolved()) {
+                IdaSearch search = new IdaSearch(board, heuristic, iteration::shouldStop);
+                int t = search.run(g, h, iteration.bound, previous);
+                iteration.nodes.add(search.nodes());
+                if (t == IdaSearch.FOUND)
+                    iteration.solution.compareAndSet(null, search.solution(prefix));
+                return t;
+            }
+
+            iteration.nodes.increment();
+            int blank = board.blankIndex();
+            List<SearchTask> children = new ArrayList<>(4);
+            for (int dir = 0; dir < 4; dir++) {
+                int next = IdaSearch.neighbour(blank, dir, board.cols());
+                if (next == previous || !board.isValidMove(next))
+                    continue;
+                Board child = board.copy();
+                child.slide(next);
+                Heuristic childHeuristic = heuristic.copy();
+                int childH = childHeuristic.reset(child);
+                int[] path = Arrays.copyOf(prefix, g + 1);
+                path[g] = next;
+                children.add(new SearchTask(iteration, child, childHeuristic, path, childH, blank));
+            }
+
+            int min = Integer.MAX_VALUE;
+            boolean aborted = false;
+            for (SearchTask child : invokeAll(children)) {
+                int t = child.join();
+                if (t == IdaSearch.FOUND)
+                    return t;
+                if (t == IdaSearch.ABORTED)
+                    aborted = true;
+                else if (t < min)
+                    min = t;
+            }
+            return aborted ? IdaSearch.ABORTED : min;
+        }
+    }
+}
@@ -0,0 +1,550 @@
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Additive pattern database for one group of tiles.
+ *
+ * A state is the ordered list of cells holding the pattern tiles, ranked as a
+ * k-permutation of the board's cells. The stored cost only counts moves of
+ * pattern tiles, so databases over disjoint groups can be added together.
+ *
+ * Every pattern cost has the same parity as the Manhattan distance of the
+ * pattern tiles and is never smaller, so only half the excess over that
+ * distance is stored, one nibble per state, saturating at 15. Tables are
+ * written with a short header and read back through {@link FileChannel#map},
+ * so opening one costs no more than the page faults of the lookups made.
+ *
+ * Small patterns are built tracking the blank. Patterns too large for that,
+ * such as the 7-tile ones for 5x4, are built with the blank projected out,
+ * which needs little more memory than the finished table.
+ */
+public final class PatternDatabase {
+    private static final int MAGIC = 0x50444231; // "PDB1"
+    private static final byte UNSEEN = (byte) 0xFF;
+    /** Largest number of (placement, blank cell) pairs built with the blank tracked, at a byte each. */
+    static final long BLANK_TRACKING_LIMIT = 1L << 28;
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int rows, cols;
+    private final int[] tiles;
+    private final ByteBuffer table;
+
+    private PatternDatabase(int rows, int cols, int[] tiles, ByteBuffer table) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tiles = tiles;
+        this.table = table;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int[] tiles() {
+        return tiles.clone();
+    }
+
+    /** Number of distinct placements of the pattern tiles. */
+    public static long stateCount(int cells, int k) {
+        long count = 1;
+        for (int i = 0; i < k; i++)
+            count *= cells - i;
+        return count;
+    }
+
+    /** Ranks the current placement of the pattern tiles on {@code board}. */
+    public int rank(Board board) {
+        int n = board.size();
+        int rank = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int p = board.positionOf(tiles[i]);
+            int digit = p;
+            for (int j = 0; j < i; j++) {
+                if (board.positionOf(tiles[j]) < p)
+                    digit--;
+            }
+            rank = rank * (n - i) + digit;
+        }
+        return rank;
+    }
+
+    /** Half the number of pattern moves needed beyond the pattern tiles' Manhattan distance. */
+    public int excess(int rank) {
+        int b = table.get(rank >>> 1);
+        return (rank & 1) == 0 ? b & 0x0F : (b >>> 4) & 0x0F;
+    }
+
+    /** Pattern-move lower bound for {@code board}. */
+    public int cost(Board board) {
+        int manhattan = 0;
+        for (int tile : tiles)
+            manhattan += board.distance(tile, board.positionOf(tile));
+        return manhattan + 2 * excess(rank(board));
+    }
+
+    /**
+     * Builds the table with a breadth-first search backwards from the solved
+     * placement, with the work split across {@code threads} workers.
+     *
+     * While a byte per (placement, blank cell) pair stays within
+     * {@link #BLANK_TRACKING_LIMIT}, the search tracks the blank. Moves that
+     * slide a non-pattern tile are free and are closed over within a rank
+     * before the next layer is expanded. Larger patterns project the blank
+     * out: a pattern tile may step onto any cell that no other pattern tile
+     * holds. That bound is weaker, but it stays admissible and additive, and
+     * the search needs only the nibble table plus three bits per placement.
+     * With it a 7-7-5 partition of the 5x4 board builds in well under a
+     * gigabyte.
+     */
+    public static PatternDatabase build(int rows, int cols, int[] tiles, int threads)
+            throws InterruptedException {
+        int n = rows * cols;
+        return build(rows, cols, tiles, threads, stateCount(n, tiles.length) * n <= BLANK_TRACKING_LIMIT);
+    }
+
+    /** As {@link #build(int, int, int[], int)}, with the choice between tracking and projecting the blank made by the caller. */
+    static PatternDatabase build(int rows, int cols, int[] tiles, int threads, boolean trackBlank)
+            throws InterruptedException {
+        int n = rows * cols;
+        int k = tiles.length;
+        if (n > 64)
+            throw new IllegalArgumentException("Pattern databases support at most 64 cells");
+        long ranks = stateCount(n, k);
+        if ((trackBlank ? ranks * n : ranks) > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Pattern of " + k + " tiles is too large for a "
+                    + cols + "x" + rows + " board");
+
+        int[] sorted = tiles.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < k; i++) {
+            if (sorted[i] < 0 || sorted[i] >= n - 1 || (i > 0 && sorted[i] == sorted[i - 1]))
+                throw new IllegalArgumentException("Invalid pattern tiles " + Arrays.toString(tiles));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            ByteBuffer table = trackBlank ? buildTracked(rows, cols, tiles, ranks, threads, pool)
+                    : buildProjected(rows, cols, tiles, ranks, threads, pool);
+            return new PatternDatabase(rows, cols, tiles.clone(), table);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Breadth-first search over (placement, blank cell) pairs, one byte of distance each. */
+    private static ByteBuffer buildTracked(int rows, int cols, int[] tiles, long ranks, int threads,
+            ExecutorService pool) throws InterruptedException {
+        int n = rows * cols;
+        byte[] dist = new byte[(int) (ranks * n)];
+        Arrays.fill(dist, UNSEEN);
+        dist[goalRank(n, tiles) * n + n - 1] = 0;
+
+        int chunk = (int) Math.max(1, ranks / (threads * 8L));
+        for (int d = 0; d < 255; d++) {
+            final byte level = (byte) d;
+            final byte nextLevel = (byte) (d + 1);
+            runChunks(pool, ranks, chunk, (from, to) -> {
+                Layer layer = new Layer(rows, cols, tiles);
+                for (int r = from; r < to; r++)
+                    layer.close(dist, r, level);
+                return 0L;
+            });
+            long added = runChunks(pool, ranks, chunk, (from, to) -> {
+                Layer layer = new Layer(rows, cols, tiles);
+                long count = 0;
+                for (int r = from; r < to; r++)
+                    count += layer.expand(dist, r, level, nextLevel);
+                return count;
+            });
+            if (added == 0)
+                break;
+        }
+
+        byte[] packed = new byte[(int) ((ranks + 1) / 2)];
+        runChunks(pool, ranks, (chunk + 1) & ~1, (from, to) -> {
+            Layer layer = new Layer(rows, cols, tiles);
+            for (int r = from; r < to; r++)
+                layer.pack(dist, packed, r);
+            return 0L;
+        });
+        return ByteBuffer.wrap(packed);
+    }
+
+    /**
+     * Search over placements alone, filling the nibble table directly. Excess
+     * rises by one when a tile steps towards its home and stays the same when
+     * it steps away, so the table fills in layers of equal excess: each layer
+     * is first closed over steps away from home, one frontier at a time, and
+     * the states one step towards home that are still unseen seed the next.
+     * The frontiers are bit sets, and every write is a compare-and-set, since
+     * workers reach states in each other's ranges. States that no layer up to
+     * 14 reaches keep the initial 15, which still bounds them from below.
+     */
+    private static ByteBuffer buildProjected(int rows, int cols, int[] tiles, long ranks, int threads,
+            ExecutorService pool) throws InterruptedException {
+        int n = rows * cols;
+        long[] table = new long[(int) ((ranks + 15) >>> 4)];
+        Arrays.fill(table, -1L);
+        int words = (int) ((ranks + 63) >>> 6);
+        long[] frontier = new long[words], next = new long[words], pending = new long[words];
+        int goal = goalRank(n, tiles);
+        claim(table, goal, 0);
+        setBit(frontier, goal);
+
+        int chunk = Math.max(1, words / (threads * 8));
+        for (int e = 0; e < 15; e++) {
+            final int level = e;
+            long expanded = 1;
+            while (expanded > 0) {
+                long[] current = frontier, reached = next;
+                expanded = runChunks(pool, words, chunk, (from, to) -> {
+                    Layer layer = new Layer(rows, cols, tiles);
+                    long count = 0;
+                    for (int w = from; w < to; w++) {
+                        for (long bits = current[w]; bits != 0; bits &= bits - 1) {
+                            layer.expandProjected(table, reached, pending, (w << 6) + Long.numberOfTrailingZeros(bits),
+                                    level);
+                            count++;
+                        }
+                        current[w] = 0;
+                    }
+                    return count;
+                });
+                next = frontier;
+                frontier = reached;
+            }
+            if (e == 14)
+                break;
+            long[] seeds = frontier;
+            long seeded = runChunks(pool, words, chunk, (from, to) -> {
+                long count = 0;
+                for (int w = from; w < to; w++) {
+                    for (long bits = pending[w]; bits != 0; bits &= bits - 1) {
+                        int rank = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        if (claim(table, rank, level + 1)) {
+                            setBit(seeds, rank);
+                            count++;
+                        }
+                    }
+                    pending[w] = 0;
+                }
+                return count;
+            });
+            if (seeded == 0)
+                break;
+        }
+
+        // Nibble r sits at bits 4 * (r % 16) of word r / 16, so little-endian bytes match excess().
+        ByteBuffer packed = ByteBuffer.allocate(table.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+        packed.asLongBuffer().put(table);
+        return ByteBuffer.wrap(packed.array(), 0, (int) ((ranks + 1) / 2)).slice();
+    }
+
+    /** Sets nibble {@code rank} to {@code value} if it is still unseen; returns whether it did. */
+    private static boolean claim(long[] table, int rank, int value) {
+        int word = rank >>> 4, shift = (rank & 15) << 2;
+        while (true) {
+            long old = (long) LONGS.getVolatile(table, word);
+            if ((old >>> shift & 0xF) != 0xF)
+                return false;
+            long updated = old & ~(0xFL << shift) | (long) value << shift;
+            if (LONGS.compareAndSet(table, word, old, updated))
+                return true;
+        }
+    }
+
+    private static boolean unseen(long[] table, int rank) {
+        return ((long) LONGS.getOpaque(table, rank >>> 4) >>> ((rank & 15) << 2) & 0xF) == 0xF;
+    }
+
+    private static void setBit(long[] bits, int index) {
+        LONGS.getAndBitwiseOr(bits, index >>> 6, 1L << index);
+    }
+
+    public void write(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(16 + 4 * tiles.length).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(rows).putInt(cols).putInt(tiles.length);
+        for (int tile : tiles)
+            header.putInt(tile);
+        header.flip();
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(header);
+            ByteBuffer data = table.duplicate();
+            data.clear();
+            while (data.hasRemaining())
+                channel.write(data);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static PatternDatabase load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < 16 || mapped.getInt() != MAGIC)
+                throw new IOException("Not a pattern database: " + file);
+            int rows = mapped.getInt(), cols = mapped.getInt(), k = mapped.getInt();
+            if (k <= 0 || k >= rows * cols || mapped.remaining() < 4L * k)
+                throw new IOException("Corrupt pattern database header: " + file);
+            int[] tiles = new int[k];
+            for (int i = 0; i < k; i++)
+                tiles[i] = mapped.getInt();
+            if (mapped.remaining() != (stateCount(rows * cols, k) + 1) / 2)
+                throw new IOException("Truncated pattern database: " + file);
+            return new PatternDatabase(rows, cols, tiles, mapped.slice());
+        }
+    }
+
+    private static int goalRank(int n, int[] tiles) {
+        int rank = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int digit = tiles[i];
+            for (int j = 0; j < i; j++) {
+                if (tiles[j] < tiles[i])
+                    digit--;
+            }
+            rank = rank * (n - i) + digit;
+        }
+        return rank;
+    }
+
+    private interface RankTask {
+        long run(int from, int to);
+    }
+
+    private static long runChunks(ExecutorService pool, long ranks, int chunk, RankTask task)
+            throws InterruptedException {
+        List<Callable<Long>> jobs = new ArrayList<>();
+        for (long from = 0; from < ranks; from += chunk) {
+            int start = (int) from;
+            int end = (int) Math.min(ranks, from + chunk);
+            jobs.add(() -> task.run(start, end));
+        }
+        AtomicLong total = new AtomicLong();
+        try {
+            for (var result : pool.invokeAll(jobs))
+                total.addAndGet(result.get());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Pattern database build failed", e.getCause());
+        }
+        return total.get();
+    }
+
+    /** Per-worker scratch space for walking the states of one rank. */
+    private static final class Layer {
+        private final int rows, cols, n;
+        private final int[] tiles;
+        private final int[] positions;
+        private final int[] stack;
+        /** Rank weight of each pattern index: the product of the place counts after it. */
+        private final int[] weights;
+        private long occupied;
+
+        Layer(int rows, int cols, int[] tiles) {
+            this.rows = rows;
+            this.cols = cols;
+            this.n = rows * cols;
+            this.tiles = tiles;
+            this.positions = new int[tiles.length];
+            this.stack = new int[n];
+            this.weights = new int[tiles.length];
+            int weight = 1;
+            for (int i = tiles.length - 1; i >= 0; i--) {
+                weights[i] = weight;
+                weight *= n - i;
+            }
+        }
+
+        /** Spreads {@code level} to every blank cell reachable without moving a pattern tile. */
+        void close(byte[] dist, int rank, byte level) {
+            int base = rank * n;
+            int top = 0;
+            for (int b = 0; b < n; b++) {
+                if (dist[base + b] == level)
+                    stack[top++] = b;
+            }
+            if (top == 0)
+                return;
+            unrank(rank);
+            while (top > 0) {
+                int b = stack[--top];
+                for (int dir = 0; dir < 4; dir++) {
+                    int nb = neighbour(b, dir);
+                    if (nb < 0 || (occupied & (1L << nb)) != 0 || dist[base + nb] != UNSEEN)
+                        continue;
+                    dist[base + nb] = level;
+                    stack[top++] = nb;
+                }
+            }
+        }
+
+        /** Slides pattern tiles into the blank from every state at {@code level}. */
+        long expand(byte[] dist, int rank, byte level, byte nextLevel) {
+            int base = rank * n;
+            boolean unranked = false;
+            long added = 0;
+            for (int b = 0; b < n; b++) {
+                if (dist[base + b] != level)
+                    continue;
+                if (!unranked) {
+                    unrank(rank);
+                    unranked = true;
+                }
+                for (int dir = 0; dir < 4; dir++) {
+                    int nb = neighbour(b, dir);
+                    if (nb < 0 || (occupied & (1L << nb)) == 0)
+                        continue;
+                    int i = indexAt(nb);
+                    positions[i] = b;
+                    int target = rankOf() * n + nb;
+                    positions[i] = nb;
+                    if (dist[target] == UNSEEN) {
+                        dist[target] = nextLevel;
+                        added++;
+                    }
+                }
+            }
+            return added;
+        }
+
+        /**
+         * Steps every pattern tile of placement {@code rank}, at excess
+         * {@code level}, onto each free neighbour. A step away from home
+         * keeps the excess, so an unseen target joins {@code reached}; a step
+         * towards home raises it, so the target is left in {@code pending}.
+         */
+        void expandProjected(long[] table, long[] reached, long[] pending, int rank, int level) {
+            unrank(rank);
+            for (int i = 0; i < tiles.length; i++) {
+                int tile = tiles[i], p = positions[i];
+                int here = Math.abs(tile / cols - p / cols) + Math.abs(tile % cols - p % cols);
+                for (int dir = 0; dir < 4; dir++) {
+                    int q = neighbour(p, dir);
+                    if (q < 0 || (occupied & (1L << q)) != 0)
+                        continue;
+                    int target = rank + shiftedRank(i, p, q);
+                    int there = Math.abs(tile / cols - q / cols) + Math.abs(tile % cols - q % cols);
+                    if (there > here) {
+                        if (claim(table, target, level))
+                            setBit(reached, target);
+                    } else if (unseen(table, target)) {
+                        setBit(pending, target);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Change in rank when pattern index {@code i} moves from cell
+         * {@code p} to the free cell {@code q}. Only its own digit and the
+         * digits of later tiles whose cells lie between {@code p} and
+         * {@code q} change, so this is linear in the pattern size.
+         */
+        private int shiftedRank(int i, int p, int q) {
+            int below = 0;
+            for (int j = 0; j < i; j++) {
+                if (positions[j] < q)
+                    below++;
+                if (positions[j] < p)
+                    below--;
+            }
+            int delta = (q - p - below) * weights[i];
+            for (int j = i + 1; j < positions.length; j++) {
+                int c = positions[j];
+                if (p < c && c < q)
+                    delta += weights[j];
+                else if (q < c && c < p)
+                    delta -= weights[j];
+            }
+            return delta;
+        }
+
+        void pack(byte[] dist, byte[] packed, int rank) {
+            int base = rank * n;
+            int best = 255;
+            for (int b = 0; b < n; b++)
+                best = Math.min(best, dist[base + b] & 0xFF);
+            unrank(rank);
+            int manhattan = 0;
+            for (int i = 0; i < tiles.length; i++) {
+                int t = tiles[i], p = positions[i];
+                manhattan += Math.abs(t / cols - p / cols) + Math.abs(t % cols - p % cols);
+            }
+            int excess = Math.min(15, Math.max(0, (best - manhattan) / 2));
+            int shift = (rank & 1) == 0 ? 0 : 4;
+            packed[rank >>> 1] |= (byte) (excess << shift);
+        }
+
+        private int neighbour(int b, int dir) {
+            return switch (dir) {
+                case 0 -> b >= cols ? b - cols : -1;
+                case 1 -> b + cols < n ? b + cols : -1;
+                case 2 -> b % cols > 0 ? b - 1 : -1;
+                default -> b % cols < cols - 1 ? b + 1 : -1;
+            };
+        }
+
+        private int indexAt(int cell) {
+            for (int i = 0; i < positions.length; i++) {
+                if (positions[i] == cell)
+                    return i;
+            }
+            return -1;
+        }
+
+        private void unrank(int rank) {
+            int k = positions.length;
+            for (int i = k - 1; i >= 0; i--) {
+                positions[i] = rank % (n - i);
+                rank /= n - i;
+            }
+            occupied = 0;
+            for (int i = 0; i < k; i++) {
+                int digit = positions[i];
+                int cell = 0;
+                while (true) {
+                    if ((occupied & (1L << cell)) == 0 && digit-- == 0)
+                        break;
+                    cell++;
+                }
+                positions[i] = cell;
+                occupied |= 1L << cell;
+            }
+        }
+
+        private int rankOf() {
+            int rank = 0;
+            for (int i = 0; i < positions.length; i++) {
+                int digit = positions[i];
+                for (int j = 0; j < i; j++) {
+                    if (positions[j] < positions[i])
+                        digit--;
+                }
+                rank = rank * (n - i) + digit;
+            }
+            return rank;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Sum of disjoint additive pattern databases. Tiles outside every pattern
+ * contribute their own Manhattan distance, which keeps the sum admissible.
+ * A move only touches the pattern of the tile that moved, so each update
+ * re-ranks a single pattern, and remembers its old value so that
+ * {@link #undo()} needs no lookup.
+ */
+public final class PatternDatabaseHeuristic implements Heuristic {
+    private final PatternDatabase[] databases;
+    private final int[] patternOf;
+    private final int[] excess;
+    private int total;
+    /** Pattern and old excess of each update not yet undone; the pattern is -1 for a tile outside all. */
+    private int[] undo = new int[32];
+    private int top;
+
+    public PatternDatabaseHeuristic(PatternDatabase... databases) {
+        this.databases = databases.clone();
+        int n = databases[0].rows() * databases[0].cols();
+        this.patternOf = new int[n];
+        Arrays.fill(patternOf, -1);
+        for (int p = 0; p < databases.length; p++) {
+            if (databases[p].rows() != databases[0].rows() || databases[p].cols() != databases[0].cols())
+                throw new IllegalArgumentException("Pattern databases are for different board sizes");
+            for (int tile : databases[p].tiles()) {
+                if (patternOf[tile] >= 0)
+                    throw new IllegalArgumentException("Tile " + tile + " is in more than one pattern");
+                patternOf[tile] = p;
+            }
+        }
+        this.excess = new int[databases.length];
+    }
+
+    /**
+     * Default partitions: 5-5-5 for 4x4, and 7-7-5 for the 5x4 level one
+     * board, whose 7-tile tables are built with the blank projected out.
+     * Returns null for sizes without one.
+     */
+    public static int[][] defaultPartition(int rows, int cols) {
+        if (rows == 4 && cols == 4)
+            return new int[][] { { 0, 1, 4, 5, 8 }, { 2, 3, 6, 7, 11 }, { 9, 10, 12, 13, 14 } };
+        if (rows == 4 && cols == 5)
+            return new int[][] { { 0, 1, 5, 6, 10, 11, 15 }, { 2, 3, 4, 7, 8, 9, 14 }, { 12, 13, 16, 17, 18 } };
+        return null;
+    }
+
+    /**
+     * Maps the default partition for the board size from {@code directory},
+     * building and writing any table that is not there yet. Files are named
+     * after their tiles, so changing a partition never picks up old tables.
+     */
+    public static PatternDatabaseHeuristic open(Path directory, int rows, int cols)
+            throws IOException, InterruptedException {
+        int[][] partition = partition(rows, cols);
+        Files.createDirectories(directory);
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int[] tiles : partition) {
+            Path file = directory.resolve(fileName(rows, cols, tiles));
+            if (!Files.exists(file))
+                PatternDatabase.build(rows, cols, tiles, threads).write(file);
+        }
+        return load(directory, rows, cols);
+    }
+
+    /**
+     * Maps the default partition for the board size from {@code directory}
+     * without building anything; fails with a {@link NoSuchFileException}
+     * when a table has not been built yet.
+     */
+    public static PatternDatabaseHeuristic load(Path directory, int rows, int cols) throws IOException {
+        int[][] partition = partition(rows, cols);
+        PatternDatabase[] databases = new PatternDatabase[partition.length];
+        for (int p = 0; p < partition.length; p++)
+            databases[p] = PatternDatabase.load(directory.resolve(fileName(rows, cols, partition[p])));
+        return new PatternDatabaseHeuristic(databases);
+    }
+
+    private static int[][] partition(int rows, int cols) {
+        int[][] partition = defaultPartition(rows, cols);
+        if (partition == null)
+            throw new IllegalArgumentException("No default pattern partition for " + cols + "x" + rows);
+        return partition;
+    }
+
+    /**
+     * Where tables are kept unless the caller picks a directory: the
+     * {@code puzzle.pdb.dir} system property, or {@code puzzle-pdb} under
+     * the temporary directory.
+     */
+    public static Path defaultDirectory() {
+        String dir = System.getProperty("puzzle.pdb.dir");
+        return dir != null ? Path.of(dir) : Path.of(System.getProperty("java.io.tmpdir"), "puzzle-pdb");
+    }
+
+    private static String fileName(int rows, int cols, int[] tiles) {
+        StringBuilder name = new StringBuilder("pdb-").append(cols).append('x').append(rows);
+        for (int tile : tiles)
+            name.append('-').append(tile);
+        return name.append(".bin").toString();
+    }
+
+    @Override
+    public int reset(Board board) {
+        if (board.size() != patternOf.length)
+            throw new IllegalArgumentException("Pattern databases do not match the board size");
+        total = 0;
+        top = 0;
+        for (int p = 0; p < databases.length; p++) {
+            excess[p] = databases[p].excess(databases[p].rank(board));
+            total += excess[p];
+        }
+        return board.manhattanDistance() + 2 * total;
+    }
+
+    @Override
+    public int update(Board board, int tile, int from, int to) {
+        int p = patternOf[tile];
+        if (top + 2 > undo.length)
+            undo = Arrays.copyOf(undo, undo.length * 2);
+        undo[top++] = p;
+        undo[top++] = p >= 0 ? excess[p] : 0;
+        if (p >= 0) {
+            int value = databases[p].excess(databases[p].rank(board));
+            total += value - excess[p];
+            excess[p] = value;
+        }
+        return board.manhattanDistance() + 2 * total;
+    }
+
+    @Override
+    public void undo() {
+        int value = undo[--top];
+        int p = undo[--top];
+        if (p >= 0) {
+            total += value - excess[p];
+            excess[p] = value;
+        }
+    }
+
+    @Override
+    public Heuristic copy() {
+        return new PatternDatabaseHeuristic(databases);
+    }
+}
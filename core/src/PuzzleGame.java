@@ -0,0 +1,89 @@
+/**
+ * One game on one board: move validation, player commands and the move
+ * count. Everything here is plain Java, so a server or a bot can play
+ * exactly the game the UI plays.
+ *
+ * A command is either a cell index, meaning "slide the tile in this cell",
+ * or one of the direction constants, which is resolved against the blank.
+ */
+public final class PuzzleGame {
+    /** Slide the tile below the blank up. */
+    public static final int UP = -1;
+    /** Slide the tile above the blank down. */
+    public static final int DOWN = -2;
+    /** Slide the tile right of the blank to the left. */
+    public static final int LEFT = -3;
+    /** Slide the tile left of the blank to the right. */
+    public static final int RIGHT = -4;
+
+    private final Board board;
+    private int moves;
+
+    public PuzzleGame(Board board) {
+        this.board = board;
+    }
+
+    public Board board() {
+        return board;
+    }
+
+    public int moves() {
+        return moves;
+    }
+
+    public boolean isSolved() {
+        return board.isSolved();
+    }
+
+    /** Puts every tile home and starts counting from zero again. */
+    public void reset() {
+        board.reset();
+        moves = 0;
+    }
+
+    /** Slides the tile at {@code cell} and counts the move; returns the tile, or -1 if it could not move. */
+    public int move(int cell) {
+        int tile = board.isValidMove(cell) ? board.tileAt(cell) : -1;
+        if (tile >= 0) {
+            int blank = board.blankIndex();
+            board.slide(cell);
+            moves++;
+            MoveEvent.emit(board, tile, cell, blank, moves);
+            if (board.isSolved())
+                WinEvent.emit(board, moves);
+        }
+        return tile;
+    }
+
+    /**
+     * Whether {@code second}, played right after {@code first}, would slide
+     * the same tile straight back, so the pair can be dropped unplayed. A
+     * first move that would solve the board is never undone this way, so
+     * the win is still seen. The board is left as it was.
+     */
+    public boolean undoes(int first, int second) {
+        int cell = target(first);
+        if (cell < 0)
+            return false;
+        int blank = board.blankIndex();
+        board.slide(cell);
+        boolean back = !board.isSolved() && target(second) == blank;
+        board.slide(blank);
+        return back;
+    }
+
+    /** The cell a command moves, or -1 if it names no legal move. */
+    public int target(int command) {
+        if (command >= 0)
+            return board.isValidMove(command) ? command : -1;
+        int blank = board.blankIndex();
+        int row = board.rowOf(blank), col = board.colOf(blank);
+        return switch (command) {
+            case UP -> row < board.rows() - 1 ? blank + board.cols() : -1;
+            case DOWN -> row > 0 ? blank - board.cols() : -1;
+            case LEFT -> col < board.cols() - 1 ? blank + 1 : -1;
+            case RIGHT -> col > 0 ? blank - 1 : -1;
+            default -> -1;
+        };
+    }
+}
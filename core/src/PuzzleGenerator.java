@@ -0,0 +1,203 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates scrambles whose difficulty falls inside a band and keeps a small
+ * queue of them per level, refilled on a background worker pool, so asking
+ * for a new puzzle normally returns immediately.
+ *
+ * Difficulty is a pluggable {@link Difficulty}: a measure of the board and
+ * the band each level's scrambles must fall in, the Manhattan distance and
+ * {@link PuzzleLevel}'s bands by default. A scramble starts from a uniform
+ * shuffle and then walks the blank, trying each move and preferring those
+ * that bring the difficulty towards a random target inside the band. Both
+ * the Manhattan distance and the exact optimal solution length change by one
+ * with every move, so with either the target is normally hit exactly. The
+ * measure is called for every candidate move, so an expensive one is best
+ * kept to generators whose queues have time to refill.
+ */
+public final class PuzzleGenerator implements AutoCloseable {
+    private static final int QUEUE_CAPACITY = 4;
+    private static final int MAX_ATTEMPTS = 16;
+
+    private final ExecutorService workers;
+    private final ToIntFunction<Board> difficulty;
+    private final IntFunction<Band> bands;
+    private final BlockingQueue<Board>[] queues;
+
+    /** Inclusive range of difficulty accepted for a scramble. */
+    public record Band(int min, int max) {
+        public Band {
+            if (min > max)
+                throw new IllegalArgumentException("Empty band " + min + ".." + max);
+        }
+    }
+
+    /**
+     * How hard a board is, and how hard each level's scrambles should be in
+     * the same units. {@code bands} may return null for a level the measure
+     * is not meant for; that level is then neither pre-filled nor offered.
+     */
+    public record Difficulty(ToIntFunction<Board> measure, IntFunction<Band> bands) {
+        /** Manhattan distance, with the bands of {@link PuzzleLevel}. */
+        public static final Difficulty MANHATTAN = new Difficulty(Board::manhattanDistance,
+                level -> new Band(PuzzleLevel.minDistance(level), PuzzleLevel.maxDistance(level)));
+    }
+
+    public PuzzleGenerator() {
+        this(Difficulty.MANHATTAN, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public PuzzleGenerator(Difficulty difficulty, int threads) {
+        this.difficulty = difficulty.measure();
+        this.bands = difficulty.bands();
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "puzzle-generator-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.queues = new BlockingQueue[PuzzleLevel.MAX + 1];
+        for (int level = PuzzleLevel.MIN; level <= PuzzleLevel.MAX; level++) {
+            queues[level] = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            if (bands.apply(level) != null) {
+                for (int i = 0; i < QUEUE_CAPACITY; i++)
+                    refill(level);
+            }
+        }
+    }
+
+    /**
+     * Returns a scramble for {@code level}, taken from the pre-filled queue
+     * when one is ready and generated on the calling thread otherwise.
+     */
+    public Board next(int level) {
+        Band band = band(level);
+        Board board = queues[level].poll();
+        if (board == null)
+            return generate(level, band, ThreadLocalRandom.current());
+        refill(level);
+        return board;
+    }
+
+    /** Generates a scramble for {@code level} within the band the difficulty gives that level. */
+    public Board generate(int level, RandomGenerator random) {
+        return generate(level, band(level), random);
+    }
+
+    private Board generate(int level, Band band, RandomGenerator random) {
+        return generate(PuzzleLevel.rows(level), PuzzleLevel.cols(level), band.min(), band.max(), random);
+    }
+
+    /**
+     * Generates a {@code cols}x{@code rows} scramble whose difficulty lies in
+     * {@code [minDistance, maxDistance]}. If the band cannot be reached after
+     * a few attempts the closest board found is returned.
+     */
+    public Board generate(int rows, int cols, int minDistance, int maxDistance, RandomGenerator random) {
+        ShuffleEvent event = new ShuffleEvent();
+        event.begin();
+        BoardShuffler shuffler = new BoardShuffler(random);
+        Board board = new Board(rows, cols);
+        Board best = null;
+        int bestError = Integer.MAX_VALUE;
+
+        int attempt = 0;
+        while (attempt < MAX_ATTEMPTS) {
+            attempt++;
+            shuffler.shuffle(board);
+            int target = minDistance + random.nextInt(maxDistance - minDistance + 1);
+            walkTowards(board, target, random);
+
+            int d = difficulty.applyAsInt(board);
+            int error = d < minDistance ? minDistance - d : d > maxDistance ? d - maxDistance : 0;
+            if (error < bestError && !board.isSolved()) {
+                best = board.copy();
+                bestError = error;
+                if (error == 0)
+                    break;
+            }
+        }
+        Board result = best != null ? best : board;
+        if (event.shouldCommit()) {
+            event.rows = rows;
+            event.cols = cols;
+            event.tileCount = rows * cols - 1;
+            event.difficulty = difficulty.applyAsInt(result);
+            event.attempts = attempt;
+            event.commit();
+        }
+        return result;
+    }
+
+    /** Walks the blank until the difficulty of {@code board} is {@code target} or a step limit is reached. */
+    private void walkTowards(Board board, int target, RandomGenerator random) {
+        int cols = board.cols();
+        int limit = 64 * board.size();
+        int previous = -1;
+        int current = difficulty.applyAsInt(board);
+
+        for (int step = 0; step < limit && current != target; step++) {
+            int blank = board.blankIndex();
+            int chosen = -1, fallback = -1, seen = 0, seenFallback = 0;
+            int chosenValue = 0, fallbackValue = 0;
+
+            for (int dir = 0; dir < 4; dir++) {
+                int next = switch (dir) {
+                    case 0 -> blank - cols;
+                    case 1 -> blank + cols;
+                    case 2 -> blank - 1;
+                    default -> blank + 1;
+                };
+                if (next == previous || !board.isValidMove(next))
+                    continue;
+                board.slide(next);
+                int value = difficulty.applyAsInt(board);
+                board.slide(blank);
+                if (Math.abs(value - target) < Math.abs(current - target)) {
+                    if (random.nextInt(++seen) == 0) {
+                        chosen = next;
+                        chosenValue = value;
+                    }
+                } else if (random.nextInt(++seenFallback) == 0) {
+                    fallback = next;
+                    fallbackValue = value;
+                }
+            }
+            board.slide(chosen >= 0 ? chosen : fallback);
+            current = chosen >= 0 ? chosenValue : fallbackValue;
+            previous = blank;
+        }
+    }
+
+    private Band band(int level) {
+        if (level < PuzzleLevel.MIN || level > PuzzleLevel.MAX)
+            throw new IllegalArgumentException("Unknown level " + level);
+        Band band = bands.apply(level);
+        if (band == null)
+            throw new IllegalArgumentException("No difficulty band for level " + level);
+        return band;
+    }
+
+    /** Tops up one slot of the level's queue; skipped when it is already full. */
+    private void refill(int level) {
+        BlockingQueue<Board> queue = queues[level];
+        workers.execute(() -> {
+            if (queue.remainingCapacity() > 0)
+                queue.offer(generate(level, bands.apply(level), ThreadLocalRandom.current()));
+        });
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Grid size and default scramble difficulty for each selectable level.
+ */
+public final class PuzzleLevel {
+    public static final int MIN = 1;
+    public static final int MAX = 5;
+
+    private PuzzleLevel() {
+    }
+
+    public static int cols(int level) {
+        return Math.min(5 + (level - 1) * 2, 14);
+    }
+
+    public static int rows(int level) {
+        return Math.min(4 + (level - 1) * 2, 12);
+    }
+
+    /**
+     * Expected Manhattan distance of a uniformly shuffled board, used to scale
+     * difficulty bands so they mean the same thing at every grid size.
+     */
+    public static double expectedDistance(int rows, int cols) {
+        double perTile = (rows * rows - 1) / (3.0 * rows) + (cols * cols - 1) / (3.0 * cols);
+        return perTile * (rows * cols - 1);
+    }
+
+    /** Smallest Manhattan distance accepted for a scramble at this level. */
+    public static int minDistance(int level) {
+        return (int) Math.round(0.70 * expectedDistance(rows(level), cols(level)));
+    }
+
+    /** Largest Manhattan distance accepted for a scramble at this level. */
+    public static int maxDistance(int level) {
+        return (int) Math.round(0.85 * expectedDistance(rows(level), cols(level)));
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Finds a sequence of moves that solves a board. Implementations never modify
+ * the board passed to {@link #solve}.
+ */
+public interface PuzzleSolver {
+    /** Receives progress reports from a running solve, on the solving thread. */
+    @FunctionalInterface
+    interface Progress {
+        void update(int bound, long nodesExpanded);
+    }
+
+    SolveResult solve(Board board, Progress progress);
+
+    default SolveResult solve(Board board) {
+        return solve(board, (bound, nodes) -> {
+        });
+    }
+
+    /**
+     * Asks every solve running at the time of the call to stop as soon as
+     * possible. Solves started afterwards are not affected. Interrupting a
+     * solving thread stops just that solve.
+     */
+    void cancel();
+}
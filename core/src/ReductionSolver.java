@@ -0,0 +1,381 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fast, non-optimal solver for boards of any size.
+ *
+ * The board is reduced one line at a time: whichever of the top row or the
+ * left column of the unsolved area is longer gets placed tile by tile and
+ * locked, until a 2x2 corner is left. Tiles are walked towards their home
+ * one step at a time, with the blank routed in front of them along straight
+ * or L-shaped paths; a breadth-first search over the unlocked cells is only
+ * used when those are blocked. The last two tiles of a line, and the final
+ * corner, are finished with an exhaustive search over a window of at most
+ * six cells.
+ *
+ * Work per tile is proportional to how far it travels, and all scratch state
+ * is a handful of arrays the size of the board. Should a tile ever end up
+ * boxed in by the locked cells, the run ends with
+ * {@link SolveResult.Status#FAILED} instead of throwing.
+ */
+public final class ReductionSolver implements PuzzleSolver {
+    /** Bumped by every cancel; a run stops once it differs from the value seen when the run began. */
+    private final AtomicLong cancels = new AtomicLong();
+
+    @Override
+    public SolveResult solve(Board start, Progress progress) {
+        SolverEvent event = new SolverEvent();
+        event.begin();
+        Run run = new Run(start.copy());
+        SolveResult result;
+        try {
+            result = run.solve(progress)
+                    ? new SolveResult(SolveResult.Status.SOLVED, Arrays.copyOf(run.moves, run.count), run.count)
+                    : new SolveResult(SolveResult.Status.CANCELLED, new int[0], run.count);
+        } catch (Stuck e) {
+            result = new SolveResult(SolveResult.Status.FAILED, new int[0], run.count);
+        }
+        return event.finish("reduction", start, result);
+    }
+
+    @Override
+    public void cancel() {
+        cancels.incrementAndGet();
+    }
+
+    /** Thrown inside a run when no move can make progress; never escapes {@link #solve}. */
+    private static final class Stuck extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Stuck(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private final class Run {
+        private final Board board;
+        private final int rows, cols, n;
+        private final boolean[] locked;
+        private final long cancelsAtStart = cancels.get();
+        private int obstacle = -1;
+
+        private int[] moves = new int[64];
+        private int count;
+
+        private final int[] queue, parent, seen;
+        private int stamp;
+
+        Run(Board board) {
+            this.board = board;
+            this.rows = board.rows();
+            this.cols = board.cols();
+            this.n = board.size();
+            this.locked = new boolean[n];
+            this.queue = new int[n];
+            this.parent = new int[n];
+            this.seen = new int[n];
+        }
+
+        boolean solve(Progress progress) {
+            int top = 0, left = 0;
+            while (rows - top > 2 || cols - left > 2) {
+                if (cancels.get() != cancelsAtStart || Thread.currentThread().isInterrupted())
+                    return false;
+                int height = rows - top, width = cols - left;
+                if (height > 2 && (height >= width || width == 2)) {
+                    solveRow(top, left);
+                    top++;
+                } else {
+                    solveColumn(top, left);
+                    left++;
+                }
+                progress.update((rows - top) * (cols - left), count);
+            }
+            int corner = board.index(rows - 2, cols - 2);
+            solveWindow(rows - 2, cols - 2, 2, 2,
+                    new int[] { corner, corner + 1, corner + cols });
+            return true;
+        }
+
+        private void solveRow(int top, int left) {
+            for (int c = left; c < cols - 2; c++) {
+                placeTile(board.index(top, c), top, c, true);
+                locked[board.index(top, c)] = true;
+            }
+            int a = board.index(top, cols - 2), b = a + 1;
+            if (board.positionOf(a) == a && board.positionOf(b) == b) {
+                locked[a] = locked[b] = true;
+                return;
+            }
+            placeTile(a, top, cols - 1, true);
+            locked[b] = true;
+            if (!inWindow(board.positionOf(b), top, cols - 2, 3, 2))
+                placeTile(b, top + 1, cols - 2, true);
+            enterWindow(a, b, top, cols - 2, 3, 2);
+            solveWindow(top, cols - 2, 3, 2, new int[] { a, b });
+            locked[a] = locked[b] = true;
+        }
+
+        private void solveColumn(int top, int left) {
+            for (int r = top; r < rows - 2; r++) {
+                placeTile(board.index(r, left), r, left, false);
+                locked[board.index(r, left)] = true;
+            }
+            int a = board.index(rows - 2, left), b = a + cols;
+            if (board.positionOf(a) == a && board.positionOf(b) == b) {
+                locked[a] = locked[b] = true;
+                return;
+            }
+            placeTile(a, rows - 1, left, false);
+            locked[b] = true;
+            if (!inWindow(board.positionOf(b), rows - 2, left, 2, 3))
+                placeTile(b, rows - 2, left + 1, false);
+            enterWindow(a, b, rows - 2, left, 2, 3);
+            solveWindow(rows - 2, left, 2, 3, new int[] { a, b });
+            locked[a] = locked[b] = true;
+        }
+
+        /**
+         * Brings the blank into the window without disturbing tiles {@code a}
+         * and {@code b}, which are already inside it. Cell {@code b} holds
+         * {@code a} and is locked on entry; it is unlocked on return.
+         */
+        private void enterWindow(int a, int b, int r0, int c0, int height, int width) {
+            obstacle = board.positionOf(b);
+            searchRoute(r0, c0, height, width);
+            obstacle = -1;
+            locked[b] = false;
+        }
+
+        /**
+         * Walks {@code tile} to ({@code tr}, {@code tc}), preferring horizontal
+         * steps while solving a row and vertical steps while solving a column.
+         */
+        private void placeTile(int tile, int tr, int tc, boolean horizontalFirst) {
+            int target = board.index(tr, tc);
+            while (board.positionOf(tile) != target) {
+                int p = board.positionOf(tile);
+                int r = p / cols, c = p % cols;
+                int horizontal = c == tc ? -1 : p + (tc > c ? 1 : -1);
+                int vertical = r == tr ? -1 : p + (tr > r ? cols : -cols);
+                if (horizontal >= 0 && locked[horizontal])
+                    horizontal = -1;
+                if (vertical >= 0 && locked[vertical])
+                    vertical = -1;
+                int step = horizontalFirst
+                        ? (horizontal >= 0 ? horizontal : vertical)
+                        : (vertical >= 0 ? vertical : horizontal);
+                if (step < 0)
+                    throw new Stuck("Tile " + tile + " is boxed in at " + p);
+
+                obstacle = p;
+                routeBlank(step);
+                obstacle = -1;
+                move(p);
+            }
+        }
+
+        /** Moves the blank to {@code target} without crossing locked cells or the obstacle. */
+        private void routeBlank(int target) {
+            int blank = board.blankIndex();
+            if (blank == target)
+                return;
+            int br = blank / cols, bc = blank % cols;
+            int tr = target / cols, tc = target % cols;
+            if (tryRoute(br, tc, br, tc, tr, tc) || tryRoute(tr, bc, tr, bc, tr, tc))
+                return;
+            for (int d = -1; d <= 1; d += 2) {
+                if (tryRoute(br + d, bc, br + d, tc, tr, tc) || tryRoute(tr + d, bc, tr + d, tc, tr, tc)
+                        || tryRoute(br, bc + d, tr, bc + d, tr, tc) || tryRoute(br, tc + d, tr, tc + d, tr, tc))
+                    return;
+            }
+            searchRoute(tr, tc, 1, 1);
+        }
+
+        /** Follows blank -> (r1, c1) -> (r2, c2) -> (tr, tc) if every straight leg is clear. */
+        private boolean tryRoute(int r1, int c1, int r2, int c2, int tr, int tc) {
+            int blank = board.blankIndex();
+            int br = blank / cols, bc = blank % cols;
+            if (!clear(br, bc, r1, c1) || !clear(r1, c1, r2, c2) || !clear(r2, c2, tr, tc))
+                return false;
+            walk(r1, c1);
+            walk(r2, c2);
+            walk(tr, tc);
+            return true;
+        }
+
+        private boolean clear(int r0, int c0, int r1, int c1) {
+            if (r0 != r1 && c0 != c1)
+                return false;
+            int dr = Integer.signum(r1 - r0), dc = Integer.signum(c1 - c0);
+            int r = r0, c = c0;
+            while (r != r1 || c != c1) {
+                r += dr;
+                c += dc;
+                if (r < 0 || r >= rows || c < 0 || c >= cols || blocked(r * cols + c))
+                    return false;
+            }
+            return true;
+        }
+
+        private void walk(int r1, int c1) {
+            int blank = board.blankIndex();
+            int dr = Integer.signum(r1 - blank / cols), dc = Integer.signum(c1 - blank % cols);
+            int step = dr * cols + dc;
+            int target = r1 * cols + c1;
+            while (board.blankIndex() != target)
+                move(board.blankIndex() + step);
+        }
+
+        /**
+         * Breadth-first search over unlocked cells that moves the blank to the
+         * nearest cell of a window; used for the routes the geometric paths miss.
+         */
+        private void searchRoute(int r0, int c0, int height, int width) {
+            stamp++;
+            int blank = board.blankIndex();
+            int head = 0, tail = 0;
+            int target = -1;
+            queue[tail++] = blank;
+            seen[blank] = stamp;
+            while (head < tail) {
+                int cell = queue[head++];
+                if (inWindow(cell, r0, c0, height, width)) {
+                    target = cell;
+                    break;
+                }
+                for (int dir = 0; dir < 4; dir++) {
+                    int next = neighbour(cell, dir);
+                    if (next < 0 || seen[next] == stamp || blocked(next))
+                        continue;
+                    seen[next] = stamp;
+                    parent[next] = cell;
+                    queue[tail++] = next;
+                }
+            }
+            if (target < 0)
+                throw new Stuck("Blank cannot reach cell " + board.index(r0, c0));
+
+            int length = 0;
+            for (int cell = target; cell != blank; cell = parent[cell])
+                queue[length++] = cell;
+            while (length > 0)
+                move(queue[--length]);
+        }
+
+        /**
+         * Solves a window of at most six cells by breadth-first search over the
+         * positions of the given tiles and the blank; every other tile in the
+         * window is interchangeable, which makes every arrangement reachable.
+         */
+        private void solveWindow(int r0, int c0, int height, int width, int[] tiles) {
+            int cells = height * width;
+            int k = tiles.length + 1;
+            int states = 1;
+            for (int i = 0; i < k; i++)
+                states *= cells;
+            int[] prev = new int[states];
+            int[] via = new int[states];
+            Arrays.fill(prev, -1);
+            int[] bfs = new int[states];
+
+            int[] local = new int[k];
+            for (int i = 0; i < tiles.length; i++)
+                local[i] = toLocal(board.positionOf(tiles[i]), r0, c0, width);
+            local[k - 1] = toLocal(board.blankIndex(), r0, c0, width);
+            int start = encode(local, cells);
+
+            int goal = -1;
+            int head = 0, tail = 0;
+            bfs[tail++] = start;
+            prev[start] = start;
+            while (head < tail) {
+                int state = bfs[head++];
+                decode(state, local, cells);
+                boolean done = true;
+                for (int i = 0; i < tiles.length; i++)
+                    done &= fromLocal(local[i], r0, c0, width) == tiles[i];
+                if (done) {
+                    goal = state;
+                    break;
+                }
+                int z = local[k - 1];
+                int zr = z / width, zc = z % width;
+                for (int dir = 0; dir < 4; dir++) {
+                    int nr = zr + (dir == 0 ? -1 : dir == 1 ? 1 : 0);
+                    int nc = zc + (dir == 2 ? -1 : dir == 3 ? 1 : 0);
+                    if (nr < 0 || nr >= height || nc < 0 || nc >= width)
+                        continue;
+                    int nz = nr * width + nc;
+                    for (int i = 0; i < k - 1; i++) {
+                        if (local[i] == nz)
+                            local[i] = z;
+                    }
+                    local[k - 1] = nz;
+                    int next = encode(local, cells);
+                    if (prev[next] < 0) {
+                        prev[next] = state;
+                        via[next] = nz;
+                        bfs[tail++] = next;
+                    }
+                    decode(state, local, cells);
+                }
+            }
+            if (goal < 0)
+                throw new Stuck("No arrangement of window " + board.index(r0, c0) + " solves it");
+
+            int length = 0;
+            for (int s = goal; s != start; s = prev[s])
+                bfs[length++] = via[s];
+            while (length > 0)
+                move(fromLocal(bfs[--length], r0, c0, width));
+        }
+
+        private int toLocal(int cell, int r0, int c0, int width) {
+            return (cell / cols - r0) * width + (cell % cols - c0);
+        }
+
+        private int fromLocal(int local, int r0, int c0, int width) {
+            return (r0 + local / width) * cols + c0 + local % width;
+        }
+
+        private int encode(int[] local, int cells) {
+            int state = 0;
+            for (int v : local)
+                state = state * cells + v;
+            return state;
+        }
+
+        private void decode(int state, int[] local, int cells) {
+            for (int i = local.length - 1; i >= 0; i--) {
+                local[i] = state % cells;
+                state /= cells;
+            }
+        }
+
+        private boolean inWindow(int cell, int r0, int c0, int height, int width) {
+            int r = cell / cols - r0, c = cell % cols - c0;
+            return r >= 0 && r < height && c >= 0 && c < width;
+        }
+
+        private boolean blocked(int cell) {
+            return locked[cell] || cell == obstacle;
+        }
+
+        private int neighbour(int cell, int dir) {
+            return switch (dir) {
+                case 0 -> cell >= cols ? cell - cols : -1;
+                case 1 -> cell + cols < n ? cell + cols : -1;
+                case 2 -> cell % cols > 0 ? cell - 1 : -1;
+                default -> cell % cols < cols - 1 ? cell + 1 : -1;
+            };
+        }
+
+        private void move(int cell) {
+            board.slide(cell);
+            if (count == moves.length)
+                moves = Arrays.copyOf(moves, count * 2);
+            moves[count++] = cell;
+        }
+    }
+}
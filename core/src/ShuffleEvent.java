@@ -0,0 +1,23 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("puzzle.Shuffle")
+@Label("Shuffle")
+@Category({ "Image Slide Puzzle", "Game" })
+@Description("Generation of one scramble inside a difficulty band")
+final class ShuffleEvent extends Event {
+    @Label("Rows")
+    int rows;
+    @Label("Columns")
+    int cols;
+    @Label("Tile Count")
+    int tileCount;
+    @Label("Difficulty")
+    @Description("Difficulty of the scramble returned, the Manhattan distance by default")
+    int difficulty;
+    @Label("Attempts")
+    int attempts;
+}
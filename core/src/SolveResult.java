@@ -0,0 +1,15 @@
+/**
+ * Outcome of a solver run. {@code moves} lists, in order, the cells whose
+ * tiles have to be slid into the blank; it is empty unless the run solved the
+ * board. {@link Status#FAILED} means the solver gave up on a board it could
+ * not handle rather than running out of time.
+ */
+public record SolveResult(Status status, int[] moves, long nodesExpanded) {
+    public enum Status {
+        SOLVED, TIMED_OUT, CANCELLED, FAILED
+    }
+
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+}
@@ -0,0 +1,41 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("puzzle.Solve")
+@Label("Solver Run")
+@Category({ "Image Slide Puzzle", "Solver" })
+@Description("One call to a puzzle solver, from start to result")
+final class SolverEvent extends Event {
+    @Label("Solver")
+    String solver;
+    @Label("Rows")
+    int rows;
+    @Label("Columns")
+    int cols;
+    @Label("Tile Count")
+    int tileCount;
+    @Label("Status")
+    String status;
+    @Label("Solution Length")
+    int solutionLength;
+    @Label("Nodes Expanded")
+    long nodesExpanded;
+
+    /** Fills in the outcome and commits if the event is enabled; returns {@code result} for chaining. */
+    SolveResult finish(String solver, Board board, SolveResult result) {
+        if (shouldCommit()) {
+            this.solver = solver;
+            rows = board.rows();
+            cols = board.cols();
+            tileCount = board.size() - 1;
+            status = result.status().name();
+            solutionLength = result.moves().length;
+            nodesExpanded = result.nodesExpanded();
+            commit();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("puzzle.Win")
+@Label("Win")
+@Category({ "Image Slide Puzzle", "Game" })
+@Description("A move that solved the board")
+@StackTrace(false)
+final class WinEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(WinEvent.class);
+
+    @Label("Rows")
+    int rows;
+    @Label("Columns")
+    int cols;
+    @Label("Tile Count")
+    int tileCount;
+    @Label("Moves")
+    int moves;
+
+    /** Records a win; nothing is allocated while the event is disabled. */
+    static void emit(Board board, int moves) {
+        if (!TYPE.isEnabled())
+            return;
+        WinEvent event = new WinEvent();
+        event.rows = board.rows();
+        event.cols = board.cols();
+        event.tileCount = board.size() - 1;
+        event.moves = moves;
+        event.commit();
+    }
+}
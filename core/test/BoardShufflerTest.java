@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class BoardShufflerTest {
+    @Test
+    void shuffledBoardsAreSolvableAndNeverSolved() {
+        BoardShuffler shuffler = new BoardShuffler(new SplittableRandom(1));
+        for (int[] size : new int[][] { { 2, 2 }, { 2, 3 }, { 3, 3 }, { 4, 4 }, { 4, 5 }, { 5, 4 }, { 12, 13 } }) {
+            Board board = new Board(size[0], size[1]);
+            for (int i = 0; i < 500; i++) {
+                shuffler.shuffle(board);
+                assertFalse(board.isSolved(), size[1] + "x" + size[0]);
+                assertTrue(isSolvable(board), size[1] + "x" + size[0] + " " + Arrays.toString(BoardTest.cells(board)));
+                Board recounted = board.copy();
+                recounted.recount();
+                assertEquals(recounted.manhattanDistance(), board.manhattanDistance());
+            }
+        }
+    }
+
+    @Test
+    void shuffleReachesEverySolvableBoardOfATinyGrid() {
+        // A 2x2 board has 12 solvable arrangements, one of them solved.
+        BoardShuffler shuffler = new BoardShuffler(new SplittableRandom(2));
+        Board board = new Board(2, 2);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 2_000; i++) {
+            shuffler.shuffle(board);
+            seen.add(Arrays.toString(BoardTest.cells(board)));
+        }
+        assertEquals(11, seen.size());
+    }
+
+    /**
+     * Independent parity check: the permutation parity, counting the blank,
+     * must equal the parity of the blank's Manhattan distance from home.
+     */
+    static boolean isSolvable(Board board) {
+        int[] cells = BoardTest.cells(board);
+        boolean[] visited = new boolean[cells.length];
+        int transpositions = 0;
+        for (int i = 0; i < cells.length; i++) {
+            int length = 0;
+            for (int j = i; !visited[j]; j = cells[j]) {
+                visited[j] = true;
+                length++;
+            }
+            if (length > 0)
+                transpositions += length - 1;
+        }
+        return transpositions % 2 == board.distance(board.blankTile(), board.blankIndex()) % 2;
+    }
+}
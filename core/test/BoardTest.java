@@ -0,0 +1,151 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class BoardTest {
+    @Test
+    void newBoardIsSolved() {
+        Board board = new Board(4, 5);
+        for (int i = 0; i < board.size(); i++) {
+            assertEquals(i, board.tileAt(i));
+            assertEquals(i, board.positionOf(i));
+        }
+        assertEquals(board.size() - 1, board.blankIndex());
+        assertTrue(board.isSolved());
+        assertEquals(0, board.misplacedTiles());
+        assertEquals(0, board.manhattanDistance());
+    }
+
+    @Test
+    void moveTileOnlyAcceptsNeighboursOfTheBlank() {
+        Board board = new Board(3, 3);
+        int blank = board.blankIndex();
+        for (int cell = -1; cell <= board.size(); cell++) {
+            boolean adjacent = cell == blank - 1 || cell == blank - board.cols();
+            assertEquals(adjacent, board.isValidMove(cell), "cell " + cell);
+        }
+        assertFalse(board.moveTile(0));
+        assertFalse(board.moveTile(blank));
+        assertTrue(board.isSolved());
+
+        assertTrue(board.moveTile(blank - 1));
+        assertEquals(blank - 1, board.blankIndex());
+        assertEquals(board.blankTile(), board.tileAt(blank - 1));
+        assertEquals(blank - 1, board.tileAt(blank));
+        assertFalse(board.isSolved());
+    }
+
+    @Test
+    void slideKeepsCellsAndPositionsInverse() {
+        Board board = randomWalk(new Board(4, 4), 10_000, 1);
+        assertConsistent(board);
+    }
+
+    @Test
+    void slideBackUndoesSlide() {
+        Board board = randomWalk(new Board(4, 5), 500, 2);
+        Board before = board.copy();
+        int blank = board.blankIndex();
+        int cell = blank >= board.cols() ? blank - board.cols() : blank + board.cols();
+        board.slide(cell);
+        board.slide(blank);
+        assertSameBoard(before, board);
+    }
+
+    @Test
+    void swapThenRecountMatchesAFreshBoard() {
+        Board board = new Board(3, 4);
+        board.swap(0, board.size() - 1);
+        board.swap(1, 5);
+        board.recount();
+        assertEquals(0, board.blankIndex());
+        assertConsistent(board);
+        assertSameBoard(Board.of(3, 4, cells(board)), board);
+    }
+
+    @Test
+    void resetRestoresTheSolvedBoard() {
+        Board board = randomWalk(new Board(5, 4), 1_000, 3);
+        board.reset();
+        assertSameBoard(new Board(5, 4), board);
+        assertTrue(board.isSolved());
+    }
+
+    @Test
+    void countersMatchARecountAfterEveryMove() {
+        SplittableRandom random = new SplittableRandom(4);
+        Board board = new Board(6, 7);
+        for (int i = 0; i < 5_000; i++) {
+            board.slide(randomNeighbour(board, random));
+            Board recounted = board.copy();
+            recounted.recount();
+            assertEquals(recounted.misplacedTiles(), board.misplacedTiles(), "misplaced after move " + i);
+            assertEquals(recounted.manhattanDistance(), board.manhattanDistance(), "manhattan after move " + i);
+            assertEquals(board.misplacedTiles() == 0, board.isSolved());
+        }
+    }
+
+    @Test
+    void ofRejectsCellsThatAreNotAPermutation() {
+        assertThrows(IllegalArgumentException.class, () -> Board.of(2, 2, 0, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> Board.of(2, 2, 0, 1, 1, 3));
+        assertThrows(IllegalArgumentException.class, () -> Board.of(2, 2, 0, 1, 2, 4));
+    }
+
+    static Board randomWalk(Board board, int moves, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < moves; i++)
+            board.slide(randomNeighbour(board, random));
+        return board;
+    }
+
+    static int randomNeighbour(Board board, SplittableRandom random) {
+        int blank = board.blankIndex();
+        while (true) {
+            int cell = blank + switch (random.nextInt(4)) {
+                case 0 -> -board.cols();
+                case 1 -> board.cols();
+                case 2 -> -1;
+                default -> 1;
+            };
+            if (board.isValidMove(cell))
+                return cell;
+        }
+    }
+
+    static int[] cells(Board board) {
+        int[] cells = new int[board.size()];
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = board.tileAt(i);
+        return cells;
+    }
+
+    private static void assertConsistent(Board board) {
+        int misplaced = 0, manhattan = 0;
+        for (int i = 0; i < board.size(); i++) {
+            int tile = board.tileAt(i);
+            assertEquals(i, board.positionOf(tile), "position of tile " + tile);
+            if (tile == board.blankTile()) {
+                assertEquals(i, board.blankIndex());
+                continue;
+            }
+            if (tile != i)
+                misplaced++;
+            manhattan += board.distance(tile, i);
+        }
+        assertEquals(misplaced, board.misplacedTiles());
+        assertEquals(manhattan, board.manhattanDistance());
+    }
+
+    private static void assertSameBoard(Board expected, Board actual) {
+        for (int i = 0; i < expected.size(); i++)
+            assertEquals(expected.tileAt(i), actual.tileAt(i), "cell " + i);
+        assertEquals(expected.blankIndex(), actual.blankIndex());
+        assertEquals(expected.misplacedTiles(), actual.misplacedTiles());
+        assertEquals(expected.manhattanDistance(), actual.manhattanDistance());
+    }
+}
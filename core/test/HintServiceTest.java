@@ -0,0 +1,177 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Solves and callbacks both run on the test thread, and only when the test
+ * drains them, so every interleaving of moves and results is deterministic.
+ */
+class HintServiceTest {
+    private final ManualExecutor solves = new ManualExecutor();
+    private final ManualExecutor callbacks = new ManualExecutor();
+    private final List<Integer> hints = new ArrayList<>();
+
+    @Test
+    void followingTheHintIsAnsweredFromTheCachedPath() {
+        Board board = shuffled(3, 3, 1);
+        try (HintService service = service(1500)) {
+            service.request(board);
+            runAll();
+            int[] expected = expectedPath(board);
+            assertEquals(expected[0], hints.get(hints.size() - 1));
+
+            hints.clear();
+            for (int i = 0; i < expected.length; i++) {
+                board.moveTile(expected[i]);
+                service.moved(board, expected[i]);
+                assertTrue(solves.isEmpty(), "no search after following move " + i);
+            }
+            int[] answered = hints.stream().mapToInt(Integer::intValue).toArray();
+            int[] rest = new int[expected.length];
+            System.arraycopy(expected, 1, rest, 0, expected.length - 1);
+            rest[expected.length - 1] = -1;
+            assertArrayEquals(rest, answered);
+        }
+    }
+
+    @Test
+    void resultsOfASearchOvertakenByAMoveAreDropped() {
+        Board board = shuffled(3, 3, 2);
+        try (HintService service = service(1500)) {
+            service.request(board);
+            solves.runAll();
+
+            // Any move the search could not have suggested yet sends the player off the path.
+            int cell = board.blankIndex() >= board.cols() ? board.blankIndex() - board.cols()
+                    : board.blankIndex() + board.cols();
+            board.moveTile(cell);
+            service.moved(board, cell);
+            callbacks.runAll();
+            assertEquals(List.of(), hints, "results for the old board");
+
+            runAll();
+            assertEquals(expectedHints(board), hints);
+        }
+    }
+
+    @Test
+    void resetCancelsWorkInFlight() {
+        Board board = shuffled(3, 3, 3);
+        try (HintService service = service(1500)) {
+            // A search that has not started yet never runs.
+            service.request(board);
+            service.reset();
+            solves.runAll();
+            assertTrue(callbacks.isEmpty());
+
+            // A search that already finished never delivers.
+            service.request(board);
+            solves.runAll();
+            service.reset();
+            callbacks.runAll();
+            assertEquals(List.of(), hints);
+        }
+    }
+
+    @Test
+    void reductionHintStandsWhenIdaStarTimesOut() {
+        Board board = shuffled(4, 5, 4);
+        int[] quick = new ReductionSolver().solve(board).moves();
+        List<int[]> paths = new ArrayList<>();
+        // No budget at all, so IDA* gives up at its first time check on a 5x4 board.
+        try (HintService service = service(0)) {
+            service.request(board);
+            service.requestPath(board, paths::add);
+            runAll();
+        }
+        assertEquals(List.of(quick[0]), hints);
+        assertEquals(1, paths.size());
+        assertArrayEquals(quick, paths.get(0));
+    }
+
+    private HintService service(long optimalBudgetMillis) {
+        return new HintService(solves, callbacks, hints::add, optimalBudgetMillis);
+    }
+
+    private void runAll() {
+        while (!solves.isEmpty() || !callbacks.isEmpty()) {
+            solves.runAll();
+            callbacks.runAll();
+        }
+    }
+
+    /** What the service should deliver for {@code board}: the reduction hint, then IDA*'s if shorter. */
+    private static List<Integer> expectedHints(Board board) {
+        int[] quick = new ReductionSolver().solve(board).moves();
+        int[] optimal = new IdaStarSolver(new LinearConflictHeuristic(), 1500).solve(board).moves();
+        return optimal.length < quick.length ? List.of(quick[0], optimal[0]) : List.of(quick[0]);
+    }
+
+    private static int[] expectedPath(Board board) {
+        int[] quick = new ReductionSolver().solve(board).moves();
+        int[] optimal = new IdaStarSolver(new LinearConflictHeuristic(), 1500).solve(board).moves();
+        return optimal.length < quick.length ? optimal : quick;
+    }
+
+    private static Board shuffled(int rows, int cols, long seed) {
+        Board board = new Board(rows, cols);
+        new BoardShuffler(new SplittableRandom(seed)).shuffle(board);
+        return board;
+    }
+
+    /** Queues everything it is given until {@link #runAll()} runs it on the calling thread. */
+    private static final class ManualExecutor extends AbstractExecutorService {
+        private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+        private boolean shutdown;
+
+        void runAll() {
+            for (Runnable task; (task = queue.poll()) != null;)
+                task.run();
+        }
+
+        boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            queue.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            List<Runnable> pending = new ArrayList<>(queue);
+            queue.clear();
+            return pending;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && queue.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IdaStarSolverTest {
+    @Test
+    void idaStarWithLinearConflictIsOptimal() {
+        SolverAssertions.assertOptimal(3, 3, SolverAssertions.DISTANCES_3X3,
+                new IdaStarSolver(new LinearConflictHeuristic(), SolverAssertions.BUDGET_MILLIS));
+        SolverAssertions.assertOptimal(2, 4, SolverAssertions.DISTANCES_2X4,
+                new IdaStarSolver(new LinearConflictHeuristic(), SolverAssertions.BUDGET_MILLIS));
+    }
+
+    @Test
+    void defaultSolverUsesPatternDatabasesOnceTheyAreBuilt(@TempDir Path dir) throws Exception {
+        String old = System.setProperty("puzzle.pdb.dir", dir.toString());
+        try {
+            IdaStarSolver solver = new IdaStarSolver();
+            SolverAssertions.assertOptimal(3, 3, SolverAssertions.DISTANCES_3X3, solver);
+            assertEquals(0, tableCount(dir), "3x3 has no partition");
+
+            IdaStarSolver linearConflict = new IdaStarSolver(new LinearConflictHeuristic(),
+                    SolverAssertions.BUDGET_MILLIS);
+            try (PuzzleGenerator generator = new PuzzleGenerator(PuzzleGenerator.Difficulty.MANHATTAN, 1)) {
+                SplittableRandom random = new SplittableRandom(7);
+                for (int i = 0; i < 5; i++) {
+                    Board board = generator.generate(4, 4, 20, 24, random);
+                    SolveResult result = solver.solve(board);
+                    SolverAssertions.assertValid(board, result);
+                    assertEquals(linearConflict.solve(board).moves().length, result.moves().length);
+                    if (i == 1) {
+                        assertEquals(0, tableCount(dir), "the default solver never builds tables");
+                        PatternDatabaseHeuristic.open(dir, 4, 4);
+                    }
+                }
+            }
+            assertEquals(3, tableCount(dir));
+        } finally {
+            if (old == null)
+                System.clearProperty("puzzle.pdb.dir");
+            else
+                System.setProperty("puzzle.pdb.dir", old);
+        }
+    }
+
+    private static long tableCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void linearConflictUndoMatchesARecount() {
+        assertUndoMatchesReset(new Board(4, 5), new LinearConflictHeuristic(), 6);
+    }
+
+    /**
+     * Makes and unmakes random moves the way a search does, checking every
+     * estimate against a fresh reset on the same board.
+     */
+    static void assertUndoMatchesReset(Board board, Heuristic heuristic, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Heuristic fresh = heuristic.copy();
+        heuristic.reset(board);
+        int[] made = new int[64];
+        int depth = 0;
+        for (int i = 0; i < 5_000; i++) {
+            if (depth == made.length || depth > 0 && random.nextInt(3) == 0) {
+                board.slide(made[--depth]);
+                heuristic.undo();
+                continue;
+            }
+            int blank = board.blankIndex();
+            int cell = BoardTest.randomNeighbour(board, random);
+            int tile = board.tileAt(cell);
+            board.slide(cell);
+            made[depth++] = blank;
+            assertEquals(fresh.reset(board), heuristic.update(board, tile, cell, blank), "after step " + i);
+        }
+    }
+
+    @Test
+    void cancelOnlyStopsSolvesInProgress() {
+        SolverAssertions.assertCancelOnlyStopsSolvesInProgress(new IdaStarSolver(new LinearConflictHeuristic(), SolverAssertions.BUDGET_MILLIS));
+    }
+}
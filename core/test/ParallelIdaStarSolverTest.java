@@ -0,0 +1,29 @@
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class ParallelIdaStarSolverTest {
+    private static final long BUDGET_MILLIS = SolverAssertions.BUDGET_MILLIS;
+
+    @Test
+    void parallelIdaStarIsOptimal() {
+        SolverAssertions.assertOptimal(3, 3, SolverAssertions.DISTANCES_3X3,
+                new ParallelIdaStarSolver(new LinearConflictHeuristic(), BUDGET_MILLIS));
+        SolverAssertions.assertOptimal(2, 4, SolverAssertions.DISTANCES_2X4,
+                new ParallelIdaStarSolver(new LinearConflictHeuristic(), BUDGET_MILLIS));
+        // An explicit pool, so the split into tasks runs even on a single-core machine.
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SolverAssertions.assertOptimal(3, 3, SolverAssertions.DISTANCES_3X3,
+                    new ParallelIdaStarSolver(new LinearConflictHeuristic(), BUDGET_MILLIS, 3, pool));
+            SolverAssertions.assertOptimal(2, 4, SolverAssertions.DISTANCES_2X4,
+                    new ParallelIdaStarSolver(new LinearConflictHeuristic(), BUDGET_MILLIS, 3, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void cancelOnlyStopsSolvesInProgress() {
+        SolverAssertions.assertCancelOnlyStopsSolvesInProgress(new ParallelIdaStarSolver(new LinearConflictHeuristic(), BUDGET_MILLIS));
+    }
+}
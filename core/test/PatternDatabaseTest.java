@@ -0,0 +1,57 @@
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PatternDatabaseTest {
+    @Test
+    void idaStarWithPatternDatabasesIsOptimal() throws InterruptedException {
+        PatternDatabaseHeuristic pdb3x3 = new PatternDatabaseHeuristic(
+                PatternDatabase.build(3, 3, new int[] { 0, 1, 3, 4 }, 2),
+                PatternDatabase.build(3, 3, new int[] { 2, 5, 6, 7 }, 2));
+        PatternDatabaseHeuristic pdb2x4 = new PatternDatabaseHeuristic(
+                PatternDatabase.build(2, 4, new int[] { 0, 1, 4, 5 }, 2),
+                PatternDatabase.build(2, 4, new int[] { 2, 3, 6 }, 2));
+        SolverAssertions.assertOptimal(3, 3, SolverAssertions.DISTANCES_3X3,
+                new IdaStarSolver(pdb3x3, SolverAssertions.BUDGET_MILLIS));
+        SolverAssertions.assertOptimal(2, 4, SolverAssertions.DISTANCES_2X4,
+                new IdaStarSolver(pdb2x4, SolverAssertions.BUDGET_MILLIS));
+    }
+
+    @Test
+    void projectedBlankTablesAreOptimalAndAdmissible() throws InterruptedException {
+        PatternDatabase projected = PatternDatabase.build(3, 3, new int[] { 0, 1, 3, 4 }, 2, false);
+        PatternDatabase tracked = PatternDatabase.build(3, 3, new int[] { 0, 1, 3, 4 }, 2, true);
+        // The relaxed search may only lose information, never overestimate.
+        for (int rank = 0; rank < PatternDatabase.stateCount(9, 4); rank++)
+            assertTrue(projected.excess(rank) <= tracked.excess(rank), "rank " + rank);
+
+        PatternDatabaseHeuristic pdb3x3 = new PatternDatabaseHeuristic(projected,
+                PatternDatabase.build(3, 3, new int[] { 2, 5, 6, 7 }, 2, false));
+        PatternDatabaseHeuristic pdb2x4 = new PatternDatabaseHeuristic(
+                PatternDatabase.build(2, 4, new int[] { 0, 1, 4, 5 }, 2, false),
+                PatternDatabase.build(2, 4, new int[] { 2, 3, 6 }, 2, false));
+        SolverAssertions.assertOptimal(3, 3, SolverAssertions.DISTANCES_3X3,
+                new IdaStarSolver(pdb3x3, SolverAssertions.BUDGET_MILLIS));
+        SolverAssertions.assertOptimal(2, 4, SolverAssertions.DISTANCES_2X4,
+                new IdaStarSolver(pdb2x4, SolverAssertions.BUDGET_MILLIS));
+    }
+
+    @Test
+    void patternDatabaseUndoMatchesARecount() throws InterruptedException {
+        PatternDatabaseHeuristic heuristic = new PatternDatabaseHeuristic(
+                PatternDatabase.build(3, 3, new int[] { 0, 1, 3, 4 }, 2),
+                PatternDatabase.build(3, 3, new int[] { 2, 5 }, 2));
+        IdaStarSolverTest.assertUndoMatchesReset(new Board(3, 3), heuristic, 7);
+    }
+
+    @Test
+    void patternDatabaseNeverOverestimates() throws InterruptedException {
+        PatternDatabase database = PatternDatabase.build(3, 3, new int[] { 0, 1, 3, 4 }, 2);
+        PatternDatabaseHeuristic heuristic = new PatternDatabaseHeuristic(database);
+        for (Board board : SolverAssertions.boards(3, 3)) {
+            int optimal = SolverAssertions.DISTANCES_3X3.get(SolverAssertions.key(board));
+            assertTrue(heuristic.reset(board) <= optimal);
+            assertTrue(database.cost(board) <= optimal);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PuzzleGameTest {
+    @Test
+    void aMoveAndItsInverseCancelWithoutTouchingTheBoard() {
+        PuzzleGame game = new PuzzleGame(Board.of(3, 3, 1, 0, 2, 3, 4, 5, 6, 8, 7));
+        Board before = game.board().copy();
+        int blank = game.board().blankIndex();
+
+        assertTrue(game.undoes(PuzzleGame.LEFT, PuzzleGame.RIGHT));
+        assertTrue(game.undoes(blank + 1, PuzzleGame.RIGHT), "a click and a direction can cancel");
+        assertFalse(game.undoes(PuzzleGame.LEFT, PuzzleGame.LEFT));
+        // At the bottom edge UP names no move, so the DOWN after it must still be played.
+        assertFalse(game.undoes(PuzzleGame.UP, PuzzleGame.DOWN));
+        for (int i = 0; i < before.size(); i++)
+            assertEquals(before.tileAt(i), game.board().tileAt(i));
+        assertEquals(0, game.moves());
+    }
+
+    @Test
+    void aWinningMoveIsNeverCancelled() {
+        PuzzleGame game = new PuzzleGame(Board.of(3, 3, 0, 1, 2, 3, 4, 5, 6, 7, 8));
+        game.move(game.board().blankIndex() - 1);
+        assertFalse(game.isSolved());
+        assertFalse(game.undoes(PuzzleGame.LEFT, PuzzleGame.RIGHT));
+        assertFalse(game.isSolved());
+    }
+}
@@ -0,0 +1,62 @@
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+import org.junit.jupiter.api.Test;
+
+class PuzzleGeneratorTest {
+    @Test
+    void generatedScramblesAreSolvableAndNeverSolved() {
+        try (PuzzleGenerator generator = new PuzzleGenerator(PuzzleGenerator.Difficulty.MANHATTAN, 1)) {
+            SplittableRandom random = new SplittableRandom(3);
+            for (int i = 0; i < 200; i++) {
+                // A band that includes 0 would accept the solved board if the generator allowed it.
+                Board board = generator.generate(2, 3, 0, 2, random);
+                assertFalse(board.isSolved());
+                assertTrue(BoardShufflerTest.isSolvable(board));
+            }
+        }
+    }
+
+    @Test
+    void scramblesLandInTheBandOfThePluggedInMeasure() {
+        // Exact optimal length, looked up in the breadth-first table of every 3x3 position.
+        // No level is 3x3, so the measure gives no level a band and nothing is pre-filled.
+        ToIntFunction<Board> optimal = board -> SolverAssertions.DISTANCES_3X3.get(SolverAssertions.key(board));
+        PuzzleGenerator.Difficulty difficulty = new PuzzleGenerator.Difficulty(optimal, level -> null);
+        try (PuzzleGenerator generator = new PuzzleGenerator(difficulty, 1)) {
+            SplittableRandom random = new SplittableRandom(4);
+            for (int i = 0; i < 100; i++) {
+                Board board = generator.generate(3, 3, 10, 12, random);
+                int length = optimal.applyAsInt(board);
+                assertTrue(length >= 10 && length <= 12, "optimal length " + length);
+            }
+        }
+    }
+
+    @Test
+    void queuedScramblesLandInTheBandsOfThePluggedInDifficulty() {
+        PuzzleGenerator.Band narrow = new PuzzleGenerator.Band(10, 12);
+        PuzzleGenerator.Difficulty difficulty = new PuzzleGenerator.Difficulty(Board::manhattanDistance,
+                level -> level == PuzzleLevel.MIN ? narrow : null);
+        try (PuzzleGenerator generator = new PuzzleGenerator(difficulty, 1)) {
+            for (int i = 0; i < 20; i++) {
+                int distance = generator.next(PuzzleLevel.MIN).manhattanDistance();
+                assertTrue(distance >= narrow.min() && distance <= narrow.max(), "distance " + distance);
+            }
+            assertThrows(IllegalArgumentException.class, () -> generator.next(PuzzleLevel.MIN + 1));
+        }
+    }
+
+    @Test
+    void unknownLevelsAreRejected() {
+        try (PuzzleGenerator generator = new PuzzleGenerator(PuzzleGenerator.Difficulty.MANHATTAN, 1)) {
+            assertThrows(IllegalArgumentException.class, () -> generator.next(PuzzleLevel.MIN - 1));
+            assertThrows(IllegalArgumentException.class, () -> generator.next(PuzzleLevel.MAX + 1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> generator.generate(PuzzleLevel.MAX + 1, new SplittableRandom(5)));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class ReductionSolverTest {
+    @Test
+    void reductionSolutionsAreValid() {
+        for (Board board : SolverAssertions.boards(3, 3))
+            SolverAssertions.assertValid(board, new ReductionSolver().solve(board));
+        for (Board board : SolverAssertions.boards(2, 4))
+            SolverAssertions.assertValid(board, new ReductionSolver().solve(board));
+        // Sizes with more reduction steps than the optimal solvers could handle.
+        for (int[] size : new int[][] { { 4, 5 }, { 5, 4 }, { 2, 7 }, { 7, 2 }, { 12, 13 } }) {
+            BoardShuffler shuffler = new BoardShuffler(new SplittableRandom(size[0] * 31 + size[1]));
+            Board board = new Board(size[0], size[1]);
+            for (int i = 0; i < 20; i++) {
+                shuffler.shuffle(board);
+                SolverAssertions.assertValid(board, new ReductionSolver().solve(board));
+            }
+        }
+    }
+
+    @Test
+    void cancelOnlyStopsSolvesInProgress() {
+        SolverAssertions.assertCancelOnlyStopsSolvesInProgress(new ReductionSolver());
+    }
+}
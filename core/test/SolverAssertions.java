@@ -0,0 +1,107 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Shared checks for the solver tests. Optimal lengths come from an exhaustive
+ * breadth-first search on the 3x3 and 2x4 boards, which are small enough to
+ * know the distance of every position.
+ */
+final class SolverAssertions {
+    static final long BUDGET_MILLIS = 60_000;
+    static final int BOARDS = 40;
+
+    static final Map<Long, Integer> DISTANCES_3X3 = distances(3, 3);
+    static final Map<Long, Integer> DISTANCES_2X4 = distances(2, 4);
+
+    private SolverAssertions() {
+    }
+
+    static void assertOptimal(int rows, int cols, Map<Long, Integer> distances, PuzzleSolver solver) {
+        for (Board board : boards(rows, cols)) {
+            SolveResult result = solver.solve(board);
+            assertValid(board, result);
+            assertEquals((int) distances.get(key(board)), result.moves().length,
+                    solver.getClass().getSimpleName() + " on " + key(board));
+        }
+    }
+
+    /**
+     * A cancel made before a solve, or by a solve that has already finished,
+     * must not stop the next one; a cancel made during a solve must stop it,
+     * even when another solve on the same solver starts and ends meanwhile.
+     */
+    static void assertCancelOnlyStopsSolvesInProgress(PuzzleSolver solver) {
+        Board board = boards(3, 3).get(0);
+        Board hard = new Board(6, 6);
+        new BoardShuffler(new SplittableRandom(5)).shuffle(hard);
+
+        solver.cancel();
+        assertValid(board, solver.solve(board));
+        solver.cancel();
+
+        SolveResult[] inner = new SolveResult[1];
+        SolveResult outer = solver.solve(hard, (bound, nodes) -> {
+            if (inner[0] == null) {
+                solver.cancel();
+                inner[0] = solver.solve(board);
+            }
+        });
+        assertEquals(SolveResult.Status.CANCELLED, outer.status());
+        assertValid(board, inner[0]);
+        assertValid(board, solver.solve(board));
+    }
+
+    static void assertValid(Board start, SolveResult result) {
+        assertEquals(SolveResult.Status.SOLVED, result.status());
+        Board board = start.copy();
+        for (int cell : result.moves())
+            assertTrue(board.moveTile(cell), "illegal move " + cell);
+        assertTrue(board.isSolved());
+    }
+
+    static List<Board> boards(int rows, int cols) {
+        BoardShuffler shuffler = new BoardShuffler(new SplittableRandom(rows * 10 + cols));
+        List<Board> boards = new ArrayList<>();
+        for (int i = 0; i < BOARDS; i++) {
+            Board board = new Board(rows, cols);
+            shuffler.shuffle(board);
+            boards.add(board);
+        }
+        return boards;
+    }
+
+    /** Optimal distance of every solvable position, by breadth-first search from the solved board. */
+    static Map<Long, Integer> distances(int rows, int cols) {
+        Map<Long, Integer> distances = new HashMap<>();
+        List<Board> layer = List.of(new Board(rows, cols));
+        distances.put(key(layer.get(0)), 0);
+        for (int d = 1; !layer.isEmpty(); d++) {
+            List<Board> next = new ArrayList<>();
+            for (Board board : layer) {
+                for (int cell = 0; cell < board.size(); cell++) {
+                    if (!board.isValidMove(cell))
+                        continue;
+                    Board child = board.copy();
+                    child.slide(cell);
+                    if (distances.putIfAbsent(key(child), d) == null)
+                        next.add(child);
+                }
+            }
+            layer = next;
+        }
+        return distances;
+    }
+
+    static long key(Board board) {
+        long key = 0;
+        for (int i = 0; i < board.size(); i++)
+            key = key * board.size() + board.tileAt(i);
+        return key;
+    }
+}
@@ -0,0 +1,134 @@
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.BorderPane;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import javax.imageio.ImageIO;
+
+/**
+ * Times building a board from a JPEG, stage by stage, for 1, 12 and 48
+ * megapixel inputs at every level. It runs the app's own build path: the
+ * background stages through {@link ImageLoadPipeline#loadNow}, timed at the
+ * end of each stage, and the FX stage through {@link BoardBuilder}.
+ *
+ * <ul>
+ * <li>preview: scale the board image down to the preview width</li>
+ * <li>decode+scale: decode at board size; the image loader scales while
+ *     decoding, so these are a single step</li>
+ * <li>tile: tile viewports into the decoded image</li>
+ * <li>scene: dealing the board into the renderer, CSS, layout and the first frame</li>
+ * </ul>
+ *
+ * A full-resolution decode is timed as well, only as a reference for what
+ * decoding straight at board size saves. Each figure is the median of
+ * {@code reps} runs. Test images are generated once into
+ * {@code bench.images.dir}.
+ *
+ * Run with {@code java BoardBuildBenchmark [reps] [node|canvas]}.
+ */
+public class BoardBuildBenchmark {
+    /** Scene size of the app window, which decides the tile size. */
+    private static final double SCENE_WIDTH = 1000, SCENE_HEIGHT = 700;
+    private static final double PREVIEW_WIDTH = 250;
+    private static final int[][] INPUTS = { { 1152, 864 }, { 4000, 3000 }, { 8000, 6000 } };
+
+    public static void main(String[] args) throws Exception {
+        int reps = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        boolean canvas = args.length > 1 && args[1].equals("canvas");
+        Path dir = Path.of(System.getProperty("bench.images.dir",
+                Path.of(System.getProperty("java.io.tmpdir"), "puzzle-bench-images").toString()));
+
+        HeadlessFx.start();
+        BoardRenderer renderer = HeadlessFx.call(() -> canvas ? new CanvasBoardRenderer()
+                : new NodeBoardRenderer(new BoardLayer()));
+        Scene scene = HeadlessFx.call(() -> {
+            Scene s = new Scene(new BorderPane(new ScrollPane(renderer.node())), SCENE_WIDTH, SCENE_HEIGHT);
+            s.getStylesheets().add(BoardBuildBenchmark.class.getResource("/light.css").toExternalForm());
+            return s;
+        });
+
+        System.out.printf("renderer: %s, median of %d%n", canvas ? "canvas" : "node", reps);
+        System.out.printf("%-6s %-5s %-7s %9s %12s %13s %9s %9s %9s%n", "input", "level", "grid",
+                "preview", "full decode", "decode+scale", "tile", "scene", "total");
+        for (int[] input : INPUTS) {
+            String url = testImage(dir, input[0], input[1]).toUri().toString();
+            for (int level = PuzzleLevel.MIN; level <= PuzzleLevel.MAX; level++) {
+                double[][] times = new double[5][reps];
+                for (int rep = 0; rep < reps; rep++)
+                    measure(url, level, renderer, scene, times, rep);
+                double preview = median(times[0]), full = median(times[1]), decode = median(times[2]);
+                double tile = median(times[3]), build = median(times[4]);
+                System.out.printf("%-6s %-5d %-7s %9.1f %12.1f %13.1f %9.2f %9.1f %9.1f%n",
+                        Math.round(input[0] * (double) input[1] / 1e6) + "MP", level,
+                        PuzzleLevel.cols(level) + "x" + PuzzleLevel.rows(level),
+                        preview, full, decode, tile, build, preview + decode + tile + build);
+            }
+        }
+        Platform.exit();
+    }
+
+    private static void measure(String url, int level, BoardRenderer renderer, Scene scene, double[][] times,
+            int rep) throws Exception {
+        int rows = PuzzleLevel.rows(level), cols = PuzzleLevel.cols(level);
+        int tileSize = (int) BoardBuilder.fitTileSize(SCENE_WIDTH, SCENE_HEIGHT, rows, cols);
+
+        long start = System.nanoTime();
+        ImageLoadPipeline.decode(url, 0, 0, false);
+        times[1][rep] = millisSince(start);
+
+        long[] ends = new long[4];
+        ends[0] = System.nanoTime();
+        ImageLoadPipeline.LoadedImage loaded = ImageLoadPipeline.loadNow(url, PREVIEW_WIDTH, rows, cols, tileSize,
+                new ImageLoadEvent(), stage -> {
+                    ends[stage] = System.nanoTime();
+                    return true;
+                });
+        times[2][rep] = (ends[1] - ends[0]) / 1e6;
+        times[0][rep] = (ends[2] - ends[1]) / 1e6;
+        times[3][rep] = (ends[3] - ends[2]) / 1e6;
+
+        HeadlessFx.run(() -> {
+            long t = System.nanoTime();
+            BoardBuilder.show(renderer, rows, cols, loaded.scaled(), loaded.viewports(), tileSize);
+            scene.snapshot(null);
+            times[4][rep] = millisSince(t);
+        });
+    }
+
+    /** Writes a noisy gradient JPEG of the given size unless it is already there. */
+    static Path testImage(Path dir, int width, int height) throws IOException {
+        Path file = dir.resolve("bench-" + width + "x" + height + ".jpg");
+        if (Files.exists(file))
+            return file;
+        Files.createDirectories(dir);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        SplittableRandom random = new SplittableRandom(width);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(32);
+                pixels[y * width + x] = (x * 223 / width + noise) << 16 | (y * 223 / height + noise) << 8
+                        | ((x + y) * 223 / (width + height) + noise);
+            }
+        }
+        Path tmp = Files.createTempFile(dir, "bench", ".jpg");
+        ImageIO.write(image, "jpg", tmp.toFile());
+        return Files.move(tmp, file);
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
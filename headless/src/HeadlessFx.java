@@ -0,0 +1,75 @@
+import javafx.application.Platform;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Starts JavaFX for the harnesses in this module. By default the toolkit runs
+ * on Monocle's headless glass platform with the software pipeline, so nothing
+ * needs a display or a GPU; pass {@code -Dheadless=false} to use the normal
+ * platform instead.
+ */
+final class HeadlessFx {
+    private HeadlessFx() {
+    }
+
+    /** Selects the headless platform; must run before the toolkit starts, however it is started. */
+    static void configure() {
+        if (Boolean.parseBoolean(System.getProperty("headless", "true"))) {
+            System.setProperty("glass.platform", "Monocle");
+            System.setProperty("monocle.platform", "Headless");
+            System.setProperty("prism.order", "sw");
+            System.setProperty("java.awt.headless", "true");
+        }
+    }
+
+    static void start() {
+        configure();
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        Platform.startup(() -> started.complete(null));
+        Platform.setImplicitExit(false);
+        started.join();
+    }
+
+    /** Runs {@code task} on the FX application thread and waits for its result. */
+    static <T> T call(Callable<T> task) throws Exception {
+        return call(task, Long.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #call(Callable)}, but fails with a {@link TimeoutException}
+     * when the result is not there within {@code timeoutMillis}.
+     */
+    static <T> T call(Callable<T> task, long timeoutMillis) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause)
+                throw cause;
+            throw e;
+        } catch (TimeoutException e) {
+            throw new TimeoutException("The FX thread did not run the task within " + timeoutMillis + " ms");
+        }
+    }
+
+    static void run(Runnable task) throws Exception {
+        run(task, Long.MAX_VALUE);
+    }
+
+    static void run(Runnable task, long timeoutMillis) throws Exception {
+        call(() -> {
+            task.run();
+            return null;
+        }, timeoutMillis);
+    }
+}
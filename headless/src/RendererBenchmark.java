@@ -0,0 +1,107 @@
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.StackPane;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Compares the node and canvas renderers on the same boards and the same
+ * moves. For each grid it reports the time to show a fresh board, the cost of
+ * one move as seen by the renderer, the time to render a frame (measured with
+ * a snapshot, which goes through the same pipeline as a pulse) and how many
+ * nodes the renderer put in the scene.
+ *
+ * Run with {@code java RendererBenchmark [moves] [frames]}; it starts its own
+ * toolkit through {@link HeadlessFx}.
+ */
+public class RendererBenchmark {
+    private static final int[][] GRIDS = { { 4, 5 }, { 12, 14 }, { 32, 32 }, { 64, 64 } };
+    private static final int TILE_SIZE = 12;
+
+    public static void main(String[] args) throws Exception {
+        int moves = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        HeadlessFx.start();
+        HeadlessFx.run(() -> {
+            System.out.printf("%-8s %-7s %10s %12s %10s %7s%n", "grid", "render", "show ms", "move us", "frame ms", "nodes");
+            for (int[] grid : GRIDS) {
+                run("node", () -> new NodeBoardRenderer(new BoardLayer()), grid[0], grid[1], moves, frames);
+                run("canvas", CanvasBoardRenderer::new, grid[0], grid[1], moves, frames);
+            }
+        });
+        Platform.exit();
+    }
+
+    private static void run(String name, Supplier<BoardRenderer> factory, int rows, int cols, int moves, int frames) {
+        WritableImage texture = texture(cols * TILE_SIZE, rows * TILE_SIZE);
+        Rectangle2D[] viewports = ImageLoadPipeline.tileViewports(rows, cols, TILE_SIZE);
+        BoardRenderer renderer = factory.get();
+        Board board = new Board(rows, cols);
+        new Scene(new StackPane(renderer.node()));
+
+        // Warm up once so the timed show does not include class loading.
+        renderer.show(board, texture, viewports, TILE_SIZE);
+        long start = System.nanoTime();
+        renderer.show(board, texture, viewports, TILE_SIZE);
+        Node node = renderer.node();
+        node.snapshot(null, null);
+        double showMs = (System.nanoTime() - start) / 1e6;
+
+        SplittableRandom random = new SplittableRandom(42);
+        start = System.nanoTime();
+        for (int m = 0; m < moves; m++)
+            randomMove(board, renderer, random);
+        double moveUs = (System.nanoTime() - start) / 1e3 / moves;
+
+        // Each frame follows a handful of moves, as it would while playing.
+        start = System.nanoTime();
+        for (int f = 0; f < frames; f++) {
+            for (int m = 0; m < 4; m++)
+                randomMove(board, renderer, random);
+            node.snapshot(null, null);
+        }
+        double frameMs = (System.nanoTime() - start) / 1e6 / frames;
+
+        System.out.printf("%-8s %-7s %10.2f %12.3f %10.2f %7d%n",
+                cols + "x" + rows, name, showMs, moveUs, frameMs, countNodes(node));
+    }
+
+    private static void randomMove(Board board, BoardRenderer renderer, SplittableRandom random) {
+        int blank = board.blankIndex();
+        int index;
+        do {
+            index = switch (random.nextInt(4)) {
+                case 0 -> blank - board.cols();
+                case 1 -> blank + board.cols();
+                case 2 -> board.colOf(blank) > 0 ? blank - 1 : -1;
+                default -> board.colOf(blank) < board.cols() - 1 ? blank + 1 : -1;
+            };
+        } while (!board.isValidMove(index));
+        int tile = board.tileAt(index);
+        board.moveTile(index);
+        renderer.tileMoved(tile, index, blank);
+    }
+
+    /** A gradient texture, so tiles differ without needing an image file. */
+    private static WritableImage texture(int width, int height) {
+        WritableImage image = new WritableImage(width, height);
+        PixelWriter writer = image.getPixelWriter();
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                writer.setArgb(x, y, 0xff000000 | (x * 255 / width) << 16 | (y * 255 / height) << 8 | 0x80);
+        return image;
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent parent)
+            for (Node child : parent.getChildrenUnmodifiable())
+                count += countNodes(child);
+        return count;
+    }
+}
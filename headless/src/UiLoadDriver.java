@@ -0,0 +1,265 @@
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Plays scripted games against the real app on the headless platform and
+ * reports input-to-pulse latency percentiles.
+ *
+ * {@link ImageSlidePuzzleMain} is launched as it would be from the command
+ * line, with a generated test image. Every game presses Shuffle and then
+ * clicks random tiles next to the blank with synthetic {@link MouseEvent}s
+ * aimed at the tile in that cell; every few games the window is resized.
+ * Each input is timed from the moment it is fired to the end of layout in
+ * the first pulse that shows its effect:
+ *
+ * <ul>
+ * <li>move: the move has been applied</li>
+ * <li>shuffle: the new board is in place</li>
+ * <li>resize: the window contents have been laid out at the new size</li>
+ * <li>resize-settled: the board has been refitted, after the resize debounce</li>
+ * </ul>
+ *
+ * Run with {@code java UiLoadDriver [games] [movesPerGame] [level]}. Setting
+ * {@code -Dslo.move.p99=<ms>}, and likewise for the other kinds, makes the
+ * driver exit with status 1 when that percentile is missed.
+ */
+public class UiLoadDriver {
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final int RESIZE_EVERY = 10;
+    private static final double[][] WINDOW_SIZES = { { 1000, 700 }, { 1200, 860 } };
+
+    /** An input waiting for the pulse that shows it. */
+    private record Pending(String kind, long firedAt, BooleanSupplier shown, CompletableFuture<Void> done) {
+    }
+
+    private final Map<String, List<Long>> latencies = new LinkedHashMap<>();
+    private volatile Pending pending;
+    private Scene scene;
+    private Stage stage;
+    private ImageSlidePuzzleController controller;
+    private BoardLayer boardLayer;
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int movesPerGame = args.length > 1 ? Integer.parseInt(args[1]) : 25;
+        int level = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        Path image = BoardBuildBenchmark.testImage(Path.of(System.getProperty("java.io.tmpdir"), "puzzle-bench-images"),
+                1152, 864);
+        HeadlessFx.configure();
+        Thread app = new Thread(() -> Application.launch(ImageSlidePuzzleMain.class, image.toString()), "app");
+        app.setDaemon(true);
+        app.start();
+
+        UiLoadDriver driver = new UiLoadDriver();
+        driver.attach(level);
+        driver.play(games, movesPerGame, level);
+        boolean met = driver.report();
+        Platform.exit();
+        System.exit(met ? 0 : 1);
+    }
+
+    /**
+     * Waits for the toolkit, the app window and its first board, then hooks
+     * the pulse. The launcher thread may not have started the toolkit yet, so
+     * the deadline covers toolkit start-up as well.
+     */
+    private void attach(int level) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (controller == null || controller.game() == null) {
+            if (System.nanoTime() > deadline)
+                throw new TimeoutException("The app did not show a board");
+            Thread.sleep(50);
+            try {
+                HeadlessFx.run(() -> {
+                    for (Window window : Window.getWindows()) {
+                        if (window instanceof Stage s && s.getScene() != null
+                                && s.getScene().getRoot().getUserData() instanceof ImageSlidePuzzleController c) {
+                            stage = s;
+                            scene = s.getScene();
+                            controller = c;
+                        }
+                    }
+                }, millisLeft(deadline));
+            } catch (IllegalStateException toolkitNotStarted) {
+                // Platform.runLater refuses work until Application.launch has started the toolkit.
+            }
+        }
+        HeadlessFx.run(() -> {
+            boardLayer = (BoardLayer) scene.lookup("#boardLayer");
+            scene.addPostLayoutPulseListener(this::pulse);
+        }, millisLeft(deadline));
+        if (level != PuzzleLevel.MIN) {
+            int rows = PuzzleLevel.rows(level), cols = PuzzleLevel.cols(level);
+            HeadlessFx.run(() -> {
+                @SuppressWarnings("unchecked")
+                ComboBox<Integer> levelBox = (ComboBox<Integer>) scene.lookup("#levelBox");
+                levelBox.setValue(level);
+            }, millisLeft(deadline));
+            while (true) {
+                Board board = HeadlessFx.call(() -> controller.game().board(), millisLeft(deadline));
+                if (board.rows() == rows && board.cols() == cols)
+                    break;
+                if (System.nanoTime() > deadline)
+                    throw new TimeoutException("The app did not switch to level " + level);
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    /** Time left until {@code deadline}, at least 1 ms so that an expired deadline still times out. */
+    private static long millisLeft(long deadline) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    private void play(int games, int movesPerGame, int level) throws Exception {
+        SplittableRandom random = new SplittableRandom(level);
+        Button shuffle = HeadlessFx.call(() -> (Button) scene.lookup("#shuffleBtn"));
+        for (int game = 0; game < games; game++) {
+            if (game > 0 && game % RESIZE_EVERY == 0)
+                resize(WINDOW_SIZES[(game / RESIZE_EVERY) % WINDOW_SIZES.length]);
+            fire("shuffle", shuffle::fire, () -> true);
+            for (int m = 0; m < movesPerGame; m++) {
+                int before = HeadlessFx.call(() -> controller.game().moves());
+                int cell = HeadlessFx.call(() -> randomMove(controller.game().board(), random));
+                fire("move", () -> click(cell), () -> controller.game().moves() > before);
+            }
+        }
+    }
+
+    private void resize(double[] size) throws Exception {
+        double before = HeadlessFx.call(() -> boardLayer.getTileSize());
+        CompletableFuture<Void> settled = new CompletableFuture<>();
+        long firedAt = System.nanoTime();
+        fire("resize", () -> {
+            stage.setWidth(size[0]);
+            stage.setHeight(size[1]);
+        }, () -> scene.getWidth() == size[0]);
+        // The board refits only once the debounce has run, some pulses later.
+        pending = new Pending("resize-settled", firedAt, () -> boardLayer.getTileSize() != before, settled);
+        settled.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /** Fires {@code input} on the FX thread and waits for the pulse where {@code shown} first holds. */
+    private void fire(String kind, Runnable input, BooleanSupplier shown) throws Exception {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        HeadlessFx.run(() -> {
+            pending = new Pending(kind, System.nanoTime(), shown, done);
+            input.run();
+        });
+        try {
+            done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            pending = null;
+            throw new TimeoutException(kind + " was not shown within " + TIMEOUT_SECONDS + " s");
+        }
+    }
+
+    private void pulse() {
+        Pending p = pending;
+        if (p != null && p.shown().getAsBoolean()) {
+            latencies.computeIfAbsent(p.kind(), k -> new ArrayList<>()).add(System.nanoTime() - p.firedAt());
+            pending = null;
+            p.done().complete(null);
+        }
+    }
+
+    /** Sends press, release and click to the tile laid out in {@code cell}, as a real click would. */
+    private void click(int cell) {
+        Board board = controller.game().board();
+        double size = boardLayer.getTileSize();
+        double x = boardLayer.cellX(board.colOf(cell)), y = boardLayer.cellY(board.rowOf(cell));
+        Node tile = tileAt(x, y);
+        Point2D point = tile.localToScene(size / 2, size / 2);
+        for (var type : List.of(MouseEvent.MOUSE_PRESSED, MouseEvent.MOUSE_RELEASED, MouseEvent.MOUSE_CLICKED)) {
+            Event.fireEvent(tile, new MouseEvent(tile, tile, type, point.getX(), point.getY(),
+                    point.getX(), point.getY(), MouseButton.PRIMARY, 1,
+                    false, false, false, false, type == MouseEvent.MOUSE_PRESSED, false, false,
+                    true, false, true, new PickResult(tile, point.getX(), point.getY())));
+        }
+    }
+
+    /**
+     * The tile whose layout position is the given cell. A sliding tile is
+     * drawn off its cell, so this goes by layout rather than by what is on
+     * screen, the same way a player aims at where a tile is going.
+     */
+    private Node tileAt(double x, double y) {
+        Parent surface = (Parent) boardLayer.getChildrenUnmodifiable().get(0);
+        for (Node tile : surface.getChildrenUnmodifiable()) {
+            if (tile.getLayoutX() == x && tile.getLayoutY() == y)
+                return tile;
+        }
+        throw new IllegalStateException("No tile laid out at " + x + ", " + y);
+    }
+
+    private static int randomMove(Board board, SplittableRandom random) {
+        int blank = board.blankIndex();
+        while (true) {
+            int cell = blank + switch (random.nextInt(4)) {
+                case 0 -> -board.cols();
+                case 1 -> board.cols();
+                case 2 -> -1;
+                default -> 1;
+            };
+            // Never play the winning move: the win alert would wait for a real user.
+            if (board.isValidMove(cell) && !solvesWith(board, cell))
+                return cell;
+        }
+    }
+
+    private static boolean solvesWith(Board board, int cell) {
+        Board next = board.copy();
+        next.moveTile(cell);
+        return next.isSolved();
+    }
+
+    /** Prints percentiles per kind of input; returns false if any configured SLO was missed. */
+    private boolean report() {
+        boolean met = true;
+        System.out.printf("%-15s %7s %8s %8s %8s %8s %8s%n", "input", "count", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms");
+        for (Map.Entry<String, List<Long>> entry : latencies.entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            double p99 = percentile(sorted, 0.99);
+            System.out.printf("%-15s %7d %8.2f %8.2f %8.2f %8.2f %8.2f%n", entry.getKey(), sorted.length,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), p99, percentile(sorted, 0.999),
+                    sorted[sorted.length - 1] / 1e6);
+            String slo = System.getProperty("slo." + entry.getKey() + ".p99");
+            if (slo != null && p99 > Double.parseDouble(slo)) {
+                System.out.printf("SLO missed: %s p99 %.2f ms > %s ms%n", entry.getKey(), p99, slo);
+                met = false;
+            }
+        }
+        return met;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}